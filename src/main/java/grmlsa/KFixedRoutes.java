@@ -14,6 +14,7 @@ import com.google.gson.reflect.TypeToken;
 
 import network.Mesh;
 import network.Node;
+import network.PairTable;
 import simulationControl.Util;
 
 public class KFixedRoutes implements KRoutingAlgorithmInterface {
@@ -24,6 +25,9 @@ public class KFixedRoutes implements KRoutingAlgorithmInterface {
 
     // List with the k shortest routes for all pairs (s, d)
     private HashMap<String, List<Route>> routesForAllPairs;
+
+    // The same routes, by the ids of the nodes
+    private PairTable<List<Route>> routesByIds;
     
     // Number of shortest routes to be computed for each pair(s, d)
     private int k;
@@ -57,6 +61,7 @@ public class KFixedRoutes implements KRoutingAlgorithmInterface {
         }
         
         computeAllRoutes(mesh);
+        routesByIds = PairTable.fromNames(mesh, routesForAllPairs, DIV);
     }
 
     /**
@@ -99,7 +104,7 @@ public class KFixedRoutes implements KRoutingAlgorithmInterface {
      * @return List<Route>
      */
     public List<Route> getRoutes(Node n1, Node n2) {
-        return this.routesForAllPairs.get(n1.getName() + DIV + n2.getName());
+        return this.routesByIds.get(n1, n2);
     }
     
     /**
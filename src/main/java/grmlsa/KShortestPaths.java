@@ -6,7 +6,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.TreeSet;
 import java.util.Vector;
 
 import com.google.gson.Gson;
@@ -14,6 +13,7 @@ import com.google.gson.GsonBuilder;
 
 import network.Mesh;
 import network.Node;
+import network.PairTable;
 import simulationControl.Util;
 
 /**
@@ -33,6 +33,9 @@ public class KShortestPaths implements KRoutingAlgorithmInterface {
     // List with the k shortest routes for all pairs (s, d)
     private HashMap<String, List<Route>> routesForAllPairs;
 
+    // The same routes, by the ids of the nodes
+    private PairTable<List<Route>> routesByIds;
+
     private Util util;
 
     /**
@@ -43,81 +46,21 @@ public class KShortestPaths implements KRoutingAlgorithmInterface {
      */
     public KShortestPaths(Mesh mesh, int k) {
         this.k = k;
-        this.computeAllRoutes(mesh);
+        this.routesForAllPairs = RouteRepository.getRoutes(mesh, "KShortestPaths", k, true, this::computeAllRoutes);
+        this.routesByIds = PairTable.fromNames(mesh, routesForAllPairs, DIV);
         salveKRoutesByPar(mesh.getNodeList());
         this.util = mesh.getUtil();
     }
 
     /**
      * Compute the k shortest routes for each pair(s, d)
+     * The routes are computed with the algorithm of Yen instead of the enumeration of all loop-free paths
      * 
      * @param mesh Mesh
+     * @return HashMap<String, List<Route>>
      */
-    private void computeAllRoutes(Mesh mesh) {
-        routesForAllPairs = new HashMap<>();
-        for (Node n1 : mesh.getNodeList()) {
-            for (Node n2 : mesh.getNodeList()) {
-                if (n1 == n2)
-                    continue;
-
-                routesForAllPairs.put(n1.getName() + DIV + n2.getName(), this.computeRoutes(n1, n2, mesh));
-            }
-        }
-    }
-
-    /**
-     * Compute the k shortest paths between two nodes
-     *
-     * @param n1 Node
-     * @param n2 Node
-     * @param mesh Mesh
-     * @return List<Route>
-     */
-    private List<Route> computeRoutes(Node n1, Node n2, Mesh mesh) {
-        TreeSet<Route> res = new TreeSet<>();
-
-        List<Vector<Node>> routesUnderConstruction = new ArrayList<>();
-
-        Vector<Node> ini = new Vector<>();
-        ini.add(n1);
-
-        routesUnderConstruction.add(ini);
-
-        while (!routesUnderConstruction.isEmpty()) {
-        	//System.out.println("\n\n routes under construction");
-            for (Vector<Node> vector : routesUnderConstruction) {
-                String aux = "";
-                for (Node node : vector) {
-                    aux = aux + node.getName() + "->";
-                }
-                //System.out.println(aux);
-            }
-
-
-            Vector<Node> expand = routesUnderConstruction.remove(0);
-
-            if (expand.get(expand.size() - 1).equals(n2)) {// route found
-                Route r = new Route(expand);
-
-
-                res.add(r);
-                continue;
-            }
-
-            for (Node node : mesh.getAdjacents(expand.get(expand.size() - 1))) {
-                if (expand.contains(node))
-                    continue; // Do not create routes with loops
-                @SuppressWarnings("unchecked")
-				Vector<Node> aux = (Vector<Node>) expand.clone();
-                aux.add(node);
-                routesUnderConstruction.add(aux);
-            }
-        }
-
-        if (res.size() > k)
-            return new ArrayList<>(res).subList(0, k);
-        else
-            return new ArrayList<>(res);
+    private HashMap<String, List<Route>> computeAllRoutes(Mesh mesh) {
+        return new YenKShortestPaths(mesh, k).getRoutesForAllPairs();
     }
 
     /**
@@ -128,7 +71,7 @@ public class KShortestPaths implements KRoutingAlgorithmInterface {
      * @return List<Route>
      */
     public List<Route> getRoutes(Node n1, Node n2) {
-        return this.routesForAllPairs.get(n1.getName() + DIV + n2.getName());
+        return this.routesByIds.get(n1, n2);
     }
 
     /**
@@ -0,0 +1,178 @@
+package grmlsa;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.Vector;
+
+import network.Link;
+import network.Node;
+import network.Oxc;
+
+/**
+ * This class measures the time to compute the k shortest paths of all pairs at the start of a simulation,
+ * in random meshes of increasing size.
+ * In the small meshes the routes of YenKShortestPaths are also compared with the enumeration of all the
+ * loop-free paths, which was used by KShortestPaths.
+ *
+ * Arguments: maximum number of nodes (default 200), k (default 3) and seed (default 1).
+ *
+ * @author Iallen
+ */
+public class KShortestPathsBenchmark {
+
+	// Numbers of nodes of the meshes
+	private static final int SIZES[] = {8, 10, 12, 14, 25, 50, 100, 200, 400, 800};
+
+	// Largest mesh in which all the loop-free paths are enumerated
+	private static final int MAX_NODES_ENUMERATION = 14;
+
+	private static final double MEAN_DEGREE = 3.5;
+	private static final int NUMBER_OF_SLOTS = 320;
+	private static final double SLOT_BANDWIDTH = 12.5E+9;
+
+	/**
+	 * Main method
+	 *
+	 * @param args String[]
+	 */
+	public static void main(String[] args) {
+		int maxNodes = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int k = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+
+		System.out.println("nodes, links, Yen (ms), enumeration (ms), same routes");
+		for (int numNodes : SIZES) {
+			if (numNodes > maxNodes) {
+				break;
+			}
+			Vector<Node> nodeList = createMesh(numNodes, new Random(seed + numNodes));
+			int numLinks = 0;
+			for (Node node : nodeList) {
+				numLinks += node.getOxc().getAllAdjacents().size();
+			}
+
+			long start = System.nanoTime();
+			YenKShortestPaths yen = new YenKShortestPaths(nodeList, k);
+			double yenTime = (System.nanoTime() - start) / 1.0E6;
+
+			String enumerationTime = "-";
+			String sameRoutes = "-";
+			if (numNodes <= MAX_NODES_ENUMERATION) {
+				start = System.nanoTime();
+				HashMap<String, List<Route>> enumerated = enumerateAllPairs(nodeList, k);
+				enumerationTime = String.format("%.1f", (System.nanoTime() - start) / 1.0E6);
+				sameRoutes = String.valueOf(sameRoutes(yen.getRoutesForAllPairs(), enumerated));
+			}
+
+			System.out.println(numNodes + ", " + numLinks + ", " + String.format("%.1f", yenTime) + ", " + enumerationTime + ", " + sameRoutes);
+		}
+	}
+
+	/**
+	 * Creates a ring with random chords, with bidirectional links whose lengths are multiples of 50 km,
+	 * so that there are many paths with the same distance
+	 *
+	 * @param numNodes int
+	 * @param random Random
+	 * @return Vector<Node>
+	 */
+	private static Vector<Node> createMesh(int numNodes, Random random) {
+		Vector<Node> nodeList = new Vector<>();
+		for (int i = 1; i <= numNodes; i++) {
+			nodeList.add(new Node(String.valueOf(i), 1000, 1000, 0, 100));
+		}
+
+		int numChords = (int) (numNodes * (MEAN_DEGREE - 2.0) / 2.0);
+		for (int i = 0; i < numNodes; i++) {
+			addLink(nodeList.get(i), nodeList.get((i + 1) % numNodes), random);
+		}
+		for (int c = 0; c < numChords; c++) {
+			Node n1 = nodeList.get(random.nextInt(numNodes));
+			Node n2 = nodeList.get(random.nextInt(numNodes));
+			if (n1 != n2 && n1.getOxc().linkTo(n2.getOxc()) == null) {
+				addLink(n1, n2, random);
+			}
+		}
+
+		return nodeList;
+	}
+
+	private static void addLink(Node n1, Node n2, Random random) {
+		double distance = 50.0 * (1 + random.nextInt(20));
+		n1.getOxc().addLink(new Link(n1.getOxc(), n2.getOxc(), NUMBER_OF_SLOTS, SLOT_BANDWIDTH, distance));
+		n2.getOxc().addLink(new Link(n2.getOxc(), n1.getOxc(), NUMBER_OF_SLOTS, SLOT_BANDWIDTH, distance));
+	}
+
+	/**
+	 * Enumerates all the loop-free paths of each pair and keeps the k shortest
+	 */
+	private static HashMap<String, List<Route>> enumerateAllPairs(Vector<Node> nodeList, int k) {
+		HashMap<String, Node> nodes = new HashMap<>();
+		for (Node node : nodeList) {
+			nodes.put(node.getName(), node);
+		}
+
+		HashMap<String, List<Route>> routesForAllPairs = new HashMap<>();
+		for (Node n1 : nodeList) {
+			for (Node n2 : nodeList) {
+				if (n1 != n2) {
+					routesForAllPairs.put(n1.getName() + "-" + n2.getName(), enumerateRoutes(n1, n2, nodes, k));
+				}
+			}
+		}
+		return routesForAllPairs;
+	}
+
+	/**
+	 * Breadth-first enumeration of all the loop-free paths between two nodes
+	 */
+	private static List<Route> enumerateRoutes(Node n1, Node n2, HashMap<String, Node> nodes, int k) {
+		TreeSet<Route> res = new TreeSet<>();
+
+		List<Vector<Node>> routesUnderConstruction = new ArrayList<>();
+		Vector<Node> ini = new Vector<>();
+		ini.add(n1);
+		routesUnderConstruction.add(ini);
+
+		while (!routesUnderConstruction.isEmpty()) {
+			Vector<Node> expand = routesUnderConstruction.remove(0);
+
+			if (expand.get(expand.size() - 1).equals(n2)) { // route found
+				res.add(new Route(expand));
+				continue;
+			}
+
+			for (Oxc oxc : expand.get(expand.size() - 1).getOxc().getAllAdjacents()) {
+				Node node = nodes.get(oxc.getName());
+				if (expand.contains(node))
+					continue; // Do not create routes with loops
+				Vector<Node> aux = new Vector<>(expand);
+				aux.add(node);
+				routesUnderConstruction.add(aux);
+			}
+		}
+
+		List<Route> routes = new ArrayList<>(res);
+		return routes.size() > k ? routes.subList(0, k) : routes;
+	}
+
+	private static boolean sameRoutes(HashMap<String, List<Route>> routes1, HashMap<String, List<Route>> routes2) {
+		for (String pair : routes2.keySet()) {
+			List<Route> list1 = routes1.get(pair);
+			List<Route> list2 = routes2.get(pair);
+			if (list1.size() != list2.size()) {
+				return false;
+			}
+			for (int i = 0; i < list1.size(); i++) {
+				if (!list1.get(i).getRouteInString().equals(list2.get(i).getRouteInString())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+}
@@ -15,6 +15,7 @@ import com.google.gson.GsonBuilder;
 
 import network.Mesh;
 import network.Node;
+import network.PairTable;
 import simulationControl.Util;
 
 /**
@@ -34,6 +35,9 @@ public class NewKShortestPaths implements KRoutingAlgorithmInterface {
     // List with the k shortest routes for all pairs (s, d)
     private HashMap<String, List<Route>> routesForAllPairs;
 
+    // The same routes, by the ids of the nodes
+    private PairTable<List<Route>> routesByIds;
+
     private Util util;
     /**
      * Constructor
@@ -43,7 +47,8 @@ public class NewKShortestPaths implements KRoutingAlgorithmInterface {
      */
     public NewKShortestPaths(Mesh mesh, int k) {
         this.k = k;
-        this.computeAllRoutes(mesh);
+        this.routesForAllPairs = RouteRepository.getRoutes(mesh, "NewKShortestPaths", k, true, this::computeAllRoutes);
+        this.routesByIds = PairTable.fromNames(mesh, routesForAllPairs, DIV);
         util = mesh.getUtil();
         //salvekRoutesByPar(mesh.getNodeList());
     }
@@ -52,9 +57,10 @@ public class NewKShortestPaths implements KRoutingAlgorithmInterface {
      * Compute the k shortest routes for each pair(s, d)
      * 
      * @param mesh Mesh
+     * @return HashMap<String, List<Route>>
      */
-    private void computeAllRoutes(Mesh mesh) {
-        routesForAllPairs = new HashMap<>();
+    private HashMap<String, List<Route>> computeAllRoutes(Mesh mesh) {
+        HashMap<String, List<Route>> routesForAllPairs = new HashMap<>();
         for (Node n1 : mesh.getNodeList()) {
             for (Node n2 : mesh.getNodeList()) {
                 if (n1 == n2)
@@ -63,6 +69,7 @@ public class NewKShortestPaths implements KRoutingAlgorithmInterface {
                 routesForAllPairs.put(n1.getName() + DIV + n2.getName(), this.computeRoutes(n1, n2, mesh));
             }
         }
+        return routesForAllPairs;
     }
 
     /**
@@ -146,7 +153,7 @@ public class NewKShortestPaths implements KRoutingAlgorithmInterface {
      * @return List<Route>
      */
     public List<Route> getRoutes(Node n1, Node n2) {
-        return this.routesForAllPairs.get(n1.getName() + DIV + n2.getName());
+        return this.routesByIds.get(n1, n2);
     }
     
     /**
@@ -2,6 +2,7 @@ package grmlsa;
 
 import network.Link;
 import network.Node;
+import util.IntersectionFreeSpectrum;
 
 import java.io.Serializable;
 import java.util.Vector;
@@ -23,6 +24,9 @@ public class Route implements Serializable, Comparable<Route> {
     // Route distance
     private double distanceAllLinks;
 
+    // Cache of the free spectrum composition of the links of the route
+    private transient IntersectionFreeSpectrum.RouteComposition freeSpectrumComposition;
+
     /**
      * Creates a new instance of Route with a given list of nodes
      *
@@ -259,6 +263,18 @@ public class Route implements Serializable, Comparable<Route> {
 		this.nodeList = nodeList;
 	}
 
+    /**
+     * Returns the cache of the free spectrum composition of the route
+     * 
+     * @return IntersectionFreeSpectrum.RouteComposition
+     */
+    public IntersectionFreeSpectrum.RouteComposition getFreeSpectrumComposition() {
+        if (freeSpectrumComposition == null) {
+            freeSpectrumComposition = new IntersectionFreeSpectrum.RouteComposition();
+        }
+        return freeSpectrumComposition;
+    }
+
     /**
      * Checks if a given route is equal to the current route
      * 
@@ -0,0 +1,334 @@
+package grmlsa;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import network.Link;
+import network.Mesh;
+import network.Node;
+
+/**
+ * This class keeps the routes computed for a network topology, so they are computed once and shared by all the
+ * simulations (load points and replications) of the topology instead of once in each simulation.
+ * The routes are stored as the indexes of their nodes in the node list of the topology, so the stored routes are
+ * immutable and each mesh creates its own Route objects with its own links.
+ * The routes are kept by topology fingerprint, routing algorithm and number of routes per pair.
+ * When a cache directory is set, the routes of the deterministic algorithms are also kept in binary files, one per key,
+ * and are loaded instead of computed in the next executions with the same topology. Deleting the files forces the
+ * computation of the routes.
+ *
+ * @author Iallen
+ */
+public class RouteRepository {
+
+    // Used as a separator between the names of nodes and between the parts of the keys
+    private static final String DIV = "-";
+
+    // Maximum number of route tables kept, the routes of other topologies are computed again when needed
+    private static final int MAX_TABLES = 32;
+
+    private static final Map<String, RouteTable> tables = new ConcurrentHashMap<>();
+
+    // Identifies the format of the route cache files
+    private static final int CACHE_FILE_VERSION = 1;
+
+    // Directory of the route cache files, or null if the routes are not kept on disk
+    private static volatile File cacheDirectory;
+
+    /**
+     * Routes of all pairs of a topology, as the indexes of their nodes
+     */
+    private static class RouteTable {
+        private final HashMap<String, int[][]> routesForAllPairs;
+
+        private RouteTable(HashMap<String, int[][]> routesForAllPairs) {
+            this.routesForAllPairs = routesForAllPairs;
+        }
+
+        private RouteTable(Mesh mesh, Map<String, List<Route>> routesForAllPairs) {
+            HashMap<String, Integer> indexes = getNodeIndexes(mesh);
+            this.routesForAllPairs = new HashMap<>();
+            for (Map.Entry<String, List<Route>> entry : routesForAllPairs.entrySet()) {
+                List<Route> routes = entry.getValue();
+                if (routes == null) {
+                    continue;
+                }
+                int paths[][] = new int[routes.size()][];
+                for (int r = 0; r < routes.size(); r++) {
+                    Vector<Node> nodeList = routes.get(r).getNodeList();
+                    paths[r] = new int[nodeList.size()];
+                    for (int n = 0; n < nodeList.size(); n++) {
+                        paths[r][n] = indexes.get(nodeList.get(n).getName());
+                    }
+                }
+                this.routesForAllPairs.put(entry.getKey(), paths);
+            }
+        }
+
+        /**
+         * Creates the routes in the nodes and links of a mesh with the same topology
+         *
+         * @param mesh Mesh
+         * @return HashMap<String, List<Route>>
+         */
+        private HashMap<String, List<Route>> bind(Mesh mesh) {
+            Vector<Node> nodeList = mesh.getNodeList();
+            HashMap<String, List<Route>> res = new HashMap<>();
+            for (Map.Entry<String, int[][]> entry : routesForAllPairs.entrySet()) {
+                List<Route> routes = new ArrayList<>(entry.getValue().length);
+                for (int path[] : entry.getValue()) {
+                    Vector<Node> nodes = new Vector<>(path.length);
+                    for (int index : path) {
+                        nodes.add(nodeList.get(index));
+                    }
+                    routes.add(new Route(nodes));
+                }
+                res.put(entry.getKey(), routes);
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Sets the directory of the route cache files
+     *
+     * @param directory File - null to keep the routes only in memory
+     */
+    public static void setCacheDirectory(File directory) {
+        cacheDirectory = directory;
+    }
+
+    /**
+     * Returns the routes of all pairs of a mesh, computing them only if they were not computed for the same topology
+     *
+     * @param mesh Mesh
+     * @param algorithm String - name of the routing algorithm, including any parameter other than k
+     * @param k int - number of routes per pair
+     * @param persistent boolean - true if the routes depend only on the topology and can be kept in the cache files
+     * @param computation Function<Mesh, Map<String, List<Route>>> - computes the routes of all pairs of a mesh
+     * @return HashMap<String, List<Route>>
+     */
+    public static HashMap<String, List<Route>> getRoutes(Mesh mesh, String algorithm, int k, boolean persistent, Function<Mesh, ? extends Map<String, List<Route>>> computation) {
+        String key = getFingerprint(mesh) + DIV + algorithm + DIV + k;
+        RouteTable table = tables.get(key);
+        if (table == null) {
+            if (tables.size() >= MAX_TABLES) {
+                tables.clear();
+            }
+            table = tables.computeIfAbsent(key, kk -> {
+                File directory = persistent ? cacheDirectory : null;
+                RouteTable t = null;
+                if (directory != null) {
+                    t = readCacheFile(directory, kk, mesh.getNodeList().size(), k);
+                }
+                if (t == null) {
+                    t = new RouteTable(mesh, computation.apply(mesh));
+                    if (directory != null) {
+                        writeCacheFile(directory, kk, mesh.getNodeList().size(), t);
+                    }
+                }
+                return t;
+            });
+        }
+        return table.bind(mesh);
+    }
+
+    /**
+     * Returns the route of all pairs of a mesh, for the routing algorithms with a single route per pair
+     *
+     * @param mesh Mesh
+     * @param algorithm String - name of the routing algorithm
+     * @param persistent boolean - true if the routes depend only on the topology and can be kept in the cache files
+     * @param computation Function<Mesh, Map<String, Route>> - computes the route of all pairs of a mesh
+     * @return HashMap<String, Route>
+     */
+    public static HashMap<String, Route> getRoute(Mesh mesh, String algorithm, boolean persistent, Function<Mesh, ? extends Map<String, Route>> computation) {
+        HashMap<String, List<Route>> routesForAllPairs = getRoutes(mesh, algorithm, 1, persistent, m -> {
+            HashMap<String, List<Route>> routes = new HashMap<>();
+            for (Map.Entry<String, Route> entry : computation.apply(m).entrySet()) {
+                if (entry.getValue() != null) {
+                    routes.put(entry.getKey(), Collections.singletonList(entry.getValue()));
+                }
+            }
+            return routes;
+        });
+
+        HashMap<String, Route> res = new HashMap<>();
+        for (Map.Entry<String, List<Route>> entry : routesForAllPairs.entrySet()) {
+            res.put(entry.getKey(), entry.getValue().get(0));
+        }
+        return res;
+    }
+
+    /**
+     * Returns the fingerprint of the topology of a mesh.
+     * It depends on the names of the nodes and on the links of each node, in the order in which they are kept,
+     * since the order of the adjacent nodes is used to break the ties among routes.
+     *
+     * @param mesh Mesh
+     * @return String
+     */
+    public static String getFingerprint(Mesh mesh) {
+        StringBuilder sb = new StringBuilder();
+        for (Node node : mesh.getNodeList()) {
+            sb.append(node.getName()).append('{');
+            for (Link link : node.getOxc().getLinksList()) {
+                sb.append(link.getDestination().getName()).append(':').append(Double.doubleToLongBits(link.getDistance())).append(';');
+            }
+            sb.append('}');
+        }
+
+        return hash(sb.toString());
+    }
+
+    /**
+     * Returns the SHA-256 of a text in hexadecimal, or the text itself if the algorithm is not available
+     *
+     * @param text String
+     * @return String
+     */
+    private static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder res = new StringBuilder();
+            for (byte b : digest.digest(text.getBytes(StandardCharsets.UTF_8))) {
+                res.append(String.format("%02x", b));
+            }
+            return res.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return text;
+        }
+    }
+
+    private static File getCacheFile(File directory, String key) {
+        return new File(directory, "routes-" + hash(key) + ".cache");
+    }
+
+    /**
+     * Reads the routes of a key from its cache file
+     *
+     * @param directory File
+     * @param key String
+     * @param numNodes int
+     * @param k int - maximum number of routes per pair
+     * @return RouteTable - null if there is no valid file for the key
+     */
+    private static RouteTable readCacheFile(File directory, String key, int numNodes, int k) {
+        File file = getCacheFile(directory, key);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != CACHE_FILE_VERSION || !in.readUTF().equals(key) || in.readInt() != numNodes) {
+                return null;
+            }
+            // The counts are checked before the allocations, so a corrupted file is not read as a huge table
+            int numPairs = in.readInt();
+            if (numPairs < 0 || numPairs > numNodes * numNodes) {
+                throw new IOException("Invalid number of pairs");
+            }
+            HashMap<String, int[][]> routesForAllPairs = new HashMap<>();
+            for (int p = 0; p < numPairs; p++) {
+                String pair = in.readUTF();
+                int numRoutes = in.readInt();
+                if (numRoutes < 0 || numRoutes > k) {
+                    throw new IOException("Invalid number of routes");
+                }
+                int paths[][] = new int[numRoutes][];
+                for (int r = 0; r < paths.length; r++) {
+                    int pathLength = in.readInt();
+                    if (pathLength < 1 || pathLength > numNodes) {
+                        throw new IOException("Invalid route length");
+                    }
+                    paths[r] = new int[pathLength];
+                    for (int n = 0; n < paths[r].length; n++) {
+                        paths[r][n] = in.readInt();
+                        if (paths[r][n] < 0 || paths[r][n] >= numNodes) {
+                            throw new IOException("Invalid node index");
+                        }
+                    }
+                }
+                routesForAllPairs.put(pair, paths);
+            }
+            return new RouteTable(routesForAllPairs);
+
+        } catch (IOException | RuntimeException e) {
+            System.err.println("The route cache file " + file.getName() + " could not be read, the routes will be computed");
+            return null;
+        }
+    }
+
+    /**
+     * Writes the routes of a key in its cache file.
+     * The file is written with another name and then renamed, so the other executions never read a partial file.
+     *
+     * @param directory File
+     * @param key String
+     * @param numNodes int
+     * @param table RouteTable
+     */
+    private static void writeCacheFile(File directory, String key, int numNodes, RouteTable table) {
+        File file = getCacheFile(directory, key);
+        File temp = null;
+        try {
+            temp = File.createTempFile("routes-", ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(CACHE_FILE_VERSION);
+                out.writeUTF(key);
+                out.writeInt(numNodes);
+                out.writeInt(table.routesForAllPairs.size());
+                for (Map.Entry<String, int[][]> entry : table.routesForAllPairs.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    for (int path[] : entry.getValue()) {
+                        out.writeInt(path.length);
+                        for (int index : path) {
+                            out.writeInt(index);
+                        }
+                    }
+                }
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+        } catch (IOException e) {
+            System.err.println("The route cache file " + file.getName() + " could not be written");
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    private static HashMap<String, Integer> getNodeIndexes(Mesh mesh) {
+        HashMap<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < mesh.getNodeList().size(); i++) {
+            indexes.put(mesh.getNodeList().get(i).getName(), i);
+        }
+        return indexes;
+    }
+
+}
@@ -0,0 +1,231 @@
+package grmlsa;
+
+import java.util.Arrays;
+import java.util.Vector;
+import java.util.function.ToDoubleFunction;
+
+import network.Link;
+import network.Mesh;
+import network.Node;
+import util.IndexedMinHeap;
+
+/**
+ * This class represents the shortest paths from a source node to all the nodes of a mesh, computed with Dijkstra's
+ * algorithm over the adjacency of the mesh by node ids, with an indexed binary heap and predecessor arrays.
+ * The nodes at the same distance are settled in the order of their ids, and a node keeps the predecessor settled first.
+ * A tree can also be obtained from another one after the removal of some links, computing again only the nodes whose
+ * paths used the removed links.
+ *
+ * @author Iallen
+ */
+public class ShortestPathTree {
+
+    private Mesh mesh;
+    private int source;
+    private ToDoubleFunction<Link> weight;
+
+    private double distance[];
+    private int predecessor[]; // Id of the previous node in the path, or -1
+    private boolean settled[];
+
+    /**
+     * Creates the shortest path tree of a source node
+     *
+     * @param mesh Mesh
+     * @param source int - id of the source node
+     * @param weight ToDoubleFunction<Link> - non-negative weight of the links
+     */
+    public ShortestPathTree(Mesh mesh, int source, ToDoubleFunction<Link> weight) {
+        this.mesh = mesh;
+        this.source = source;
+        this.weight = weight;
+
+        int numNodes = mesh.getNodeList().size();
+        distance = new double[numNodes];
+        predecessor = new int[numNodes];
+        settled = new boolean[numNodes];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessor, -1);
+
+        IndexedMinHeap heap = new IndexedMinHeap(numNodes);
+        distance[source] = 0.0;
+        heap.addOrDecrease(source, 0.0);
+        run(heap, null);
+    }
+
+    /**
+     * Creates the shortest path tree of the same source of another tree, without some links.
+     * Only the nodes whose paths in the other tree use the removed links are computed again.
+     *
+     * @param tree ShortestPathTree
+     * @param removedLinks boolean[] - indexed by link id
+     */
+    public ShortestPathTree(ShortestPathTree tree, boolean removedLinks[]) {
+        this.mesh = tree.mesh;
+        this.source = tree.source;
+        this.weight = tree.weight;
+        this.distance = tree.distance.clone();
+        this.predecessor = tree.predecessor.clone();
+        this.settled = tree.settled.clone();
+
+        // Nodes whose paths use a removed link
+        int numNodes = distance.length;
+        boolean affected[] = new boolean[numNodes];
+        boolean anyAffected = false;
+        for (int v = 0; v < numNodes; v++) {
+            if (predecessor[v] != -1 && removedLinks[mesh.getLink(predecessor[v], v).getId()]) {
+                affected[v] = true;
+                anyAffected = true;
+            }
+        }
+        if (!anyAffected) {
+            return;
+        }
+        boolean checked[] = affected.clone();
+        checked[source] = true;
+        for (int v = 0; v < numNodes; v++) {
+            markAffected(v, affected, checked);
+        }
+
+        for (int v = 0; v < numNodes; v++) {
+            if (affected[v]) {
+                distance[v] = Double.POSITIVE_INFINITY;
+                predecessor[v] = -1;
+                settled[v] = false;
+            }
+        }
+
+        // The affected nodes are reached again from the other nodes
+        IndexedMinHeap heap = new IndexedMinHeap(numNodes);
+        int offsets[] = mesh.getAdjacencyOffsets();
+        int adjacentNodes[] = mesh.getAdjacentNodeIds();
+        int adjacentLinks[] = mesh.getAdjacentLinkIds();
+        for (int u = 0; u < numNodes; u++) {
+            if (!settled[u]) {
+                continue;
+            }
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = adjacentNodes[i];
+                if (affected[v] && !removedLinks[adjacentLinks[i]]) {
+                    relax(u, v, mesh.getLinkList().get(adjacentLinks[i]), heap);
+                }
+            }
+        }
+        run(heap, removedLinks);
+    }
+
+    /**
+     * Marks a node as affected if a node of its path is affected
+     *
+     * @param v int
+     * @param affected boolean[]
+     * @param checked boolean[]
+     * @return boolean
+     */
+    private boolean markAffected(int v, boolean affected[], boolean checked[]) {
+        if (!checked[v]) {
+            checked[v] = true;
+            if (predecessor[v] != -1) {
+                affected[v] = markAffected(predecessor[v], affected, checked);
+            }
+        }
+        return affected[v];
+    }
+
+    /**
+     * Settles the nodes in the heap and the nodes reached from them
+     *
+     * @param heap IndexedMinHeap
+     * @param removedLinks boolean[] - links that are not used, or null
+     */
+    private void run(IndexedMinHeap heap, boolean removedLinks[]) {
+        int offsets[] = mesh.getAdjacencyOffsets();
+        int adjacentNodes[] = mesh.getAdjacentNodeIds();
+        int adjacentLinks[] = mesh.getAdjacentLinkIds();
+        Vector<Link> linkList = mesh.getLinkList();
+
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled[u] = true;
+
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = adjacentNodes[i];
+                if (!settled[v] && (removedLinks == null || !removedLinks[adjacentLinks[i]])) {
+                    relax(u, v, linkList.get(adjacentLinks[i]), heap);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the path of node v if the path through node u is shorter, or as short and u is settled before
+     * the current predecessor
+     *
+     * @param u int
+     * @param v int
+     * @param link Link
+     * @param heap IndexedMinHeap
+     */
+    private void relax(int u, int v, Link link, IndexedMinHeap heap) {
+        double d = distance[u] + weight.applyAsDouble(link);
+        int p = predecessor[v];
+        if (d < distance[v] || (d == distance[v] && p != -1
+                && (distance[u] < distance[p] || (distance[u] == distance[p] && u < p)))) {
+            distance[v] = d;
+            predecessor[v] = u;
+            heap.addOrDecrease(v, d);
+        }
+    }
+
+    /**
+     * Returns the id of the source node
+     *
+     * @return int
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the distance from the source node to a node
+     *
+     * @param node int
+     * @return double - infinity if the node is not reachable
+     */
+    public double getDistance(int node) {
+        return distance[node];
+    }
+
+    /**
+     * Returns the previous node of a node in its path
+     *
+     * @param node int
+     * @return int - -1 for the source node and the nodes not reachable
+     */
+    public int getPredecessor(int node) {
+        return predecessor[node];
+    }
+
+    /**
+     * Returns the route from the source node to a node
+     *
+     * @param destination int
+     * @return Route - null if the node is not reachable, a route with only the source node if it is the destination
+     */
+    public Route getRoute(int destination) {
+        if (destination != source && predecessor[destination] == -1) {
+            return null;
+        }
+
+        int length = 1;
+        for (int v = destination; v != source; v = predecessor[v]) {
+            length++;
+        }
+        Node nodes[] = new Node[length];
+        for (int v = destination, i = length - 1; i >= 0; v = predecessor[v], i--) {
+            nodes[i] = mesh.getNode(v);
+        }
+        return new Route(new Vector<>(Arrays.asList(nodes)));
+    }
+
+}
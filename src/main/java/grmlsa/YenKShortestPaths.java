@@ -0,0 +1,520 @@
+package grmlsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.Vector;
+
+import network.Link;
+import network.Mesh;
+import network.Node;
+import network.Oxc;
+
+/**
+ * This class serves to compute the k shortest paths for all pairs of source (s) and destination (d) nodes
+ * of a given network topology with the algorithm of Yen.
+ * Each new path is the best deviation (spur path) from the paths already chosen, so only the k paths of
+ * each pair are computed instead of all the loop-free paths of the topology.
+ * The spur paths are computed with A*, guided by the distance of each node to the destination.
+ * The routes are ordered by distance, then by number of hops and then by the order of the adjacent nodes,
+ * which is the order in which the paths were enumerated by KShortestPaths, so the same routes and ties are chosen
+ * (up to rounding of the sums, when the lengths of the links are not exact in binary).
+ *
+ * @author Iallen
+ */
+public class YenKShortestPaths implements KRoutingAlgorithmInterface {
+
+	// Used as a separator between the names of nodes
+    private static final String DIV = "-";
+
+    // Order of the paths: distance, number of hops and position of the nodes in the adjacents of the previous node
+    private static final Comparator<Path> PATH_ORDER = (p1, p2) -> {
+    	if (p1.distance < p2.distance) return -1;
+    	if (p1.distance > p2.distance) return 1;
+    	if (p1.nodes.length != p2.nodes.length) return p1.nodes.length - p2.nodes.length;
+    	for (int i = 0; i < p1.choices.length; i++) {
+    		if (p1.choices[i] != p2.choices[i]) return p1.choices[i] - p2.choices[i];
+    	}
+    	return 0;
+    };
+
+    // Relative reduction of the lower bounds of the distances used by A*
+    private static final double HEURISTIC_MARGIN = 1.0E-9;
+
+    // Number of shortest routes to be computed for each pair(s, d)
+    private int k;
+
+    // List with the k shortest routes for all pairs (s, d)
+    private HashMap<String, List<Route>> routesForAllPairs;
+
+    private Vector<Node> nodeList;
+    private int adjacents[][]; // Indexes of the adjacent nodes of each node, in the order of the links of the node
+    private double distances[][]; // Distance of the link to each adjacent node
+    private int reverseAdjacents[][]; // Indexes of the nodes that have links to each node
+    private double reverseDistances[][];
+
+    // Lower bound of the distance of each node to the current destination, or zero for all nodes
+    private double heuristic[];
+    private boolean useHeuristic;
+
+    // Labels of the computation of the spur paths, valid for the nodes with the current stamp
+    private double labelDistance[];
+    private int labelHops[];
+    private int predecessor[];
+    private int predecessorChoice[]; // Position of the node in the adjacents of its predecessor
+    private boolean settled[];
+    private boolean blocked[]; // Nodes of the root path
+    private int stamp[];
+    private int currentStamp;
+    private NodeHeap heap;
+
+    /**
+     * A path as the indexes of its nodes
+     */
+    private static class Path {
+    	private int nodes[];
+    	private int choices[]; // choices[i] is the position of nodes[i + 1] in the adjacents of nodes[i]
+    	private double distance;
+    	private int deviation; // Index of the node where the path deviates from the path that originated it
+
+    	private Path(int nodes[], int choices[], double distance, int deviation) {
+    		this.nodes = nodes;
+    		this.choices = choices;
+    		this.distance = distance;
+    		this.deviation = deviation;
+    	}
+    }
+
+    /**
+     * Creates a new instance of YenKShortestPaths
+     *
+     * @param mesh Mesh - network topology
+     * @param k    int - number of routes to be computed for each pair(s, d)
+     */
+    public YenKShortestPaths(Mesh mesh, int k) {
+        this(mesh.getNodeList(), k);
+    }
+
+    /**
+     * Creates a new instance of YenKShortestPaths
+     *
+     * @param nodeList Vector<Node> - nodes of the network topology, with their links
+     * @param k        int - number of routes to be computed for each pair(s, d)
+     */
+    public YenKShortestPaths(Vector<Node> nodeList, int k) {
+    	this.k = k;
+    	this.nodeList = nodeList;
+    	this.createGraph();
+    	this.computeAllRoutes();
+    }
+
+    /**
+     * Creates the adjacency lists of the topology
+     */
+    private void createGraph() {
+    	int numNodes = nodeList.size();
+    	HashMap<String, Integer> indexes = new HashMap<>();
+    	for (int i = 0; i < numNodes; i++) {
+    		indexes.put(nodeList.get(i).getName(), i);
+    	}
+
+    	adjacents = new int[numNodes][];
+    	distances = new double[numNodes][];
+    	int numReverse[] = new int[numNodes];
+    	double minDistance = Double.POSITIVE_INFINITY;
+    	double sumDistances = 0.0;
+    	for (int i = 0; i < numNodes; i++) {
+    		Oxc oxc = nodeList.get(i).getOxc();
+    		Vector<Oxc> adjacentOxcs = oxc.getAllAdjacents();
+    		adjacents[i] = new int[adjacentOxcs.size()];
+    		distances[i] = new double[adjacentOxcs.size()];
+    		for (int j = 0; j < adjacentOxcs.size(); j++) {
+    			Link link = oxc.linkTo(adjacentOxcs.get(j));
+    			adjacents[i][j] = indexes.get(adjacentOxcs.get(j).getName());
+    			distances[i][j] = link.getDistance();
+    			numReverse[adjacents[i][j]]++;
+    			minDistance = Math.min(minDistance, distances[i][j]);
+    			sumDistances += distances[i][j];
+    		}
+    	}
+
+    	reverseAdjacents = new int[numNodes][];
+    	reverseDistances = new double[numNodes][];
+    	for (int i = 0; i < numNodes; i++) {
+    		reverseAdjacents[i] = new int[numReverse[i]];
+    		reverseDistances[i] = new double[numReverse[i]];
+    		numReverse[i] = 0;
+    	}
+    	for (int i = 0; i < numNodes; i++) {
+    		for (int j = 0; j < adjacents[i].length; j++) {
+    			int v = adjacents[i][j];
+    			reverseAdjacents[v][numReverse[v]] = i;
+    			reverseDistances[v][numReverse[v]] = distances[i][j];
+    			numReverse[v]++;
+    		}
+    	}
+
+    	// The lower bounds are reduced by a relative margin, larger than the rounding errors of the sums of the distances,
+    	// so that A* chooses the same paths as Dijkstra. Links too short for the margin are computed without them
+    	heuristic = new double[numNodes];
+    	useHeuristic = minDistance > HEURISTIC_MARGIN * sumDistances * 1.0E3;
+
+    	labelDistance = new double[numNodes];
+    	labelHops = new int[numNodes];
+    	predecessor = new int[numNodes];
+    	predecessorChoice = new int[numNodes];
+    	settled = new boolean[numNodes];
+    	blocked = new boolean[numNodes];
+    	stamp = new int[numNodes];
+    	heap = new NodeHeap(numNodes);
+    }
+
+    /**
+     * Compute the k shortest routes for each pair(s, d)
+     */
+    private void computeAllRoutes() {
+        routesForAllPairs = new HashMap<>();
+        for (int d = 0; d < nodeList.size(); d++) {
+        	computeHeuristic(d);
+            for (int s = 0; s < nodeList.size(); s++) {
+                if (s == d)
+                    continue;
+
+                routesForAllPairs.put(nodeList.get(s).getName() + DIV + nodeList.get(d).getName(), this.computeRoutes(s, d));
+            }
+        }
+    }
+
+    /**
+     * Compute the k shortest paths between two nodes
+     *
+     * @param source int
+     * @param destination int
+     * @return List<Route>
+     */
+    private List<Route> computeRoutes(int source, int destination) {
+    	List<Path> chosenPaths = new ArrayList<>();
+    	TreeSet<Path> candidatePaths = new TreeSet<>(PATH_ORDER); // Also discards the paths found more than once
+
+    	Path shortest = computeSpurPath(new Path(new int[] {source}, new int[0], 0.0, 0), destination, chosenPaths);
+    	if (shortest != null) {
+    		chosenPaths.add(shortest);
+    	}
+
+    	while (!chosenPaths.isEmpty() && chosenPaths.size() < k) {
+    		Path last = chosenPaths.get(chosenPaths.size() - 1);
+
+    		// Deviations from each node of the last chosen path, the nodes before its own deviation
+    		// give the same deviations as for the path that originated it (Lawler)
+    		double rootDistance = 0.0;
+    		for (int i = 0; i < last.nodes.length - 1; i++) {
+    			if (i >= last.deviation) {
+    				Path root = new Path(Arrays.copyOf(last.nodes, i + 1), Arrays.copyOf(last.choices, i), rootDistance, i);
+    				Path path = computeSpurPath(root, destination, chosenPaths);
+    				if (path != null) {
+    					candidatePaths.add(path);
+    				}
+    			}
+    			rootDistance += distances[last.nodes[i]][last.choices[i]];
+    		}
+
+    		if (candidatePaths.isEmpty()) {
+    			break; // There are no more loop-free paths
+    		}
+    		chosenPaths.add(candidatePaths.pollFirst());
+    	}
+
+    	List<Route> routes = new ArrayList<>();
+    	for (Path path : chosenPaths) {
+    		Vector<Node> nodes = new Vector<>();
+    		for (int node : path.nodes) {
+    			nodes.add(nodeList.get(node));
+    		}
+    		routes.add(new Route(nodes));
+    	}
+    	return routes;
+    }
+
+    /**
+     * Computes the shortest path that begins with the root path and reaches the destination without using the
+     * other nodes of the root path or the links that the chosen paths with the same root use after it
+     *
+     * @param root Path
+     * @param destination int
+     * @param chosenPaths List<Path>
+     * @return Path - Null if there is no such path
+     */
+    private Path computeSpurPath(Path root, int destination, List<Path> chosenPaths) {
+    	int spurIndex = root.nodes.length - 1;
+    	int spurNode = root.nodes[spurIndex];
+
+    	// Links of the spur node that are used by the chosen paths with the same root
+    	boolean blockedChoices[] = new boolean[adjacents[spurNode].length];
+    	for (Path path : chosenPaths) {
+    		if (path.nodes.length > spurIndex + 1 && hasRoot(path, root)) {
+    			blockedChoices[path.choices[spurIndex]] = true;
+    		}
+    	}
+
+    	currentStamp++;
+    	for (int i = 0; i < spurIndex; i++) {
+    		visit(root.nodes[i]);
+    		blocked[root.nodes[i]] = true;
+    	}
+
+    	visit(spurNode);
+    	labelDistance[spurNode] = root.distance;
+    	labelHops[spurNode] = 0;
+    	predecessor[spurNode] = -1;
+    	heap.clear();
+    	heap.add(spurNode, root.distance + heuristic[spurNode], root.distance, 0);
+
+    	while (!heap.isEmpty()) {
+    		int u = heap.poll();
+    		if (settled[u]) {
+    			continue;
+    		}
+    		settled[u] = true;
+    		if (u == destination) {
+    			break;
+    		}
+
+    		for (int j = 0; j < adjacents[u].length; j++) {
+    			if (u == spurNode && blockedChoices[j]) {
+    				continue;
+    			}
+    			int v = adjacents[u][j];
+    			if (heuristic[v] == Double.POSITIVE_INFINITY) {
+    				continue; // Does not reach the destination
+    			}
+    			if (stamp[v] != currentStamp) {
+    				visit(v);
+    			} else if (blocked[v] || settled[v]) {
+    				continue;
+    			}
+
+    			double distance = labelDistance[u] + distances[u][j];
+    			int hops = labelHops[u] + 1;
+    			if (predecessor[v] == -2 || distance < labelDistance[v] || (distance == labelDistance[v]
+    					&& (hops < labelHops[v] || (hops == labelHops[v] && precedes(u, j, v))))) {
+    				labelDistance[v] = distance;
+    				labelHops[v] = hops;
+    				predecessor[v] = u;
+    				predecessorChoice[v] = j;
+    				heap.add(v, distance + heuristic[v], distance, hops);
+    			}
+    		}
+    	}
+
+    	if (stamp[destination] != currentStamp || !settled[destination]) {
+    		return null;
+    	}
+
+    	// Joins the root path and the spur path
+    	int length = spurIndex + labelHops[destination] + 1;
+    	int nodes[] = Arrays.copyOf(root.nodes, length);
+    	int choices[] = Arrays.copyOf(root.choices, length - 1);
+    	for (int i = length - 1, node = destination; i > spurIndex; i--, node = predecessor[node]) {
+    		nodes[i] = node;
+    		choices[i - 1] = predecessorChoice[node];
+    	}
+    	return new Path(nodes, choices, labelDistance[destination], spurIndex);
+    }
+
+    /**
+     * Computes the lower bounds of the distances of the nodes to the destination, with Dijkstra over the reverse links
+     *
+     * @param destination int
+     */
+    private void computeHeuristic(int destination) {
+    	double bounds[] = new double[nodeList.size()];
+    	Arrays.fill(bounds, Double.POSITIVE_INFINITY);
+    	boolean done[] = new boolean[nodeList.size()];
+    	bounds[destination] = 0.0;
+    	heap.clear();
+    	heap.add(destination, 0.0, 0.0, 0);
+    	while (!heap.isEmpty()) {
+    		int v = heap.poll();
+    		if (done[v]) {
+    			continue;
+    		}
+    		done[v] = true;
+    		for (int j = 0; j < reverseAdjacents[v].length; j++) {
+    			int u = reverseAdjacents[v][j];
+    			double bound = bounds[v] + reverseDistances[v][j];
+    			if (bound < bounds[u]) {
+    				bounds[u] = bound;
+    				heap.add(u, bound, bound, 0);
+    			}
+    		}
+    	}
+
+    	for (int i = 0; i < bounds.length; i++) {
+    		if (bounds[i] == Double.POSITIVE_INFINITY) {
+    			heuristic[i] = Double.POSITIVE_INFINITY;
+    		} else if (useHeuristic) {
+    			heuristic[i] = bounds[i] * (1.0 - HEURISTIC_MARGIN);
+    		} else {
+    			heuristic[i] = 0.0; // Only the nodes that do not reach the destination are discarded
+    		}
+    	}
+    }
+
+    /**
+     * Initializes the labels of a node for the current computation
+     */
+    private void visit(int node) {
+    	stamp[node] = currentStamp;
+    	settled[node] = false;
+    	blocked[node] = false;
+    	predecessor[node] = -2; // Not reached
+    }
+
+    /**
+     * Checks if the path through node u and its adjacent of position j precedes the current path of node v,
+     * both with the same distance and number of hops
+     */
+    private boolean precedes(int u, int j, int v) {
+    	int hops = labelHops[v];
+    	int newChoices[] = new int[hops];
+    	int currentChoices[] = new int[hops];
+
+    	newChoices[hops - 1] = j;
+    	for (int i = hops - 2, node = u; i >= 0; i--, node = predecessor[node]) {
+    		newChoices[i] = predecessorChoice[node];
+    	}
+    	for (int i = hops - 1, node = v; i >= 0; i--, node = predecessor[node]) {
+    		currentChoices[i] = predecessorChoice[node];
+    	}
+
+    	for (int i = 0; i < hops; i++) {
+    		if (newChoices[i] != currentChoices[i]) {
+    			return newChoices[i] < currentChoices[i];
+    		}
+    	}
+    	return false;
+    }
+
+    /**
+     * Checks if the path begins with the root path
+     */
+    private static boolean hasRoot(Path path, Path root) {
+    	for (int i = 0; i < root.nodes.length; i++) {
+    		if (path.nodes[i] != root.nodes[i]) {
+    			return false;
+    		}
+    	}
+    	return true;
+    }
+
+    /**
+     * Returns the k shortest paths between two nodes
+     *
+     * @param n1 Node
+     * @param n2 Node
+     * @return List<Route>
+     */
+    @Override
+    public List<Route> getRoutes(Node n1, Node n2) {
+        return this.routesForAllPairs.get(n1.getName() + DIV + n2.getName());
+    }
+
+    /**
+	 * Returns the route list for all pairs
+	 *
+	 * @return HashMap<String, List<Route>>
+	 */
+    @Override
+	public HashMap<String, List<Route>> getRoutesForAllPairs() {
+		return routesForAllPairs;
+	}
+
+    /**
+     * Binary heap of nodes ordered by estimated distance to the destination, distance and number of hops.
+     * A node is added again when its label improves, the old entries are discarded when polled.
+     */
+    private static class NodeHeap {
+    	private int nodes[];
+    	private double estimates[];
+    	private double distances[];
+    	private int hops[];
+    	private int size;
+
+    	private NodeHeap(int capacity) {
+    		nodes = new int[Math.max(capacity, 1)];
+    		estimates = new double[nodes.length];
+    		distances = new double[nodes.length];
+    		hops = new int[nodes.length];
+    	}
+
+    	private void clear() {
+    		size = 0;
+    	}
+
+    	private boolean isEmpty() {
+    		return size == 0;
+    	}
+
+    	private void add(int node, double estimate, double distance, int numHops) {
+    		if (size == nodes.length) {
+    			nodes = Arrays.copyOf(nodes, 2 * size);
+    			estimates = Arrays.copyOf(estimates, 2 * size);
+    			distances = Arrays.copyOf(distances, 2 * size);
+    			hops = Arrays.copyOf(hops, 2 * size);
+    		}
+    		int i = size++;
+    		while (i > 0) {
+    			int parent = (i - 1) >>> 1;
+    			if (!less(estimate, distance, numHops, estimates[parent], distances[parent], hops[parent])) {
+    				break;
+    			}
+    			set(i, nodes[parent], estimates[parent], distances[parent], hops[parent]);
+    			i = parent;
+    		}
+    		set(i, node, estimate, distance, numHops);
+    	}
+
+    	private int poll() {
+    		int first = nodes[0];
+    		size--;
+    		if (size > 0) {
+    			int node = nodes[size];
+    			double estimate = estimates[size];
+    			double distance = distances[size];
+    			int numHops = hops[size];
+    			int i = 0;
+    			while (true) {
+    				int child = 2 * i + 1;
+    				if (child >= size) {
+    					break;
+    				}
+    				if (child + 1 < size && less(estimates[child + 1], distances[child + 1], hops[child + 1], estimates[child], distances[child], hops[child])) {
+    					child++;
+    				}
+    				if (!less(estimates[child], distances[child], hops[child], estimate, distance, numHops)) {
+    					break;
+    				}
+    				set(i, nodes[child], estimates[child], distances[child], hops[child]);
+    				i = child;
+    			}
+    			set(i, node, estimate, distance, numHops);
+    		}
+    		return first;
+    	}
+
+    	private void set(int i, int node, double estimate, double distance, int numHops) {
+    		nodes[i] = node;
+    		estimates[i] = estimate;
+    		distances[i] = distance;
+    		hops[i] = numHops;
+    	}
+
+    	private static boolean less(double e1, double d1, int h1, double e2, double d2, int h2) {
+    		return e1 < e2 || (e1 == e2 && (d1 < d2 || (d1 == d2 && h1 < h2)));
+    	}
+    }
+
+}
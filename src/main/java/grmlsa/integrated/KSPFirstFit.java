@@ -48,10 +48,14 @@ public class KSPFirstFit implements IntegratedRMLSAAlgorithmInterface {
             circuit.setModulation(mod);
             
             if(mod != null){
+            	// Calculate how many slots are needed for this route
+            	int numberOfSlots = mod.requiredSlots(circuit.getRequiredBandwidth());
+            	if(!IntersectionFreeSpectrum.hasFreeBlock(route, circuit.getGuardBand(), numberOfSlots)){ // Infeasible route
+            		continue;
+            	}
             	List<int[]> merge = IntersectionFreeSpectrum.merge(route, circuit.getGuardBand());
 
-	            // Calculate how many slots are needed for this route
-	            int ff[] = spectrumAssignment.policy(mod.requiredSlots(circuit.getRequiredBandwidth()), merge, circuit, cp);
+	            int ff[] = spectrumAssignment.policy(numberOfSlots, merge, circuit, cp);
 	
 	            if (ff != null) {
 	                chosenBand = ff;
@@ -14,6 +14,7 @@ import grmlsa.spectrumAssignment.SpectrumAssignmentAlgorithmInterface;
 import network.Circuit;
 import network.ControlPlane;
 import network.Link;
+import network.QoTEvaluation;
 import util.IntersectionFreeSpectrum;
 
 /**
@@ -131,8 +132,9 @@ public class KShortestPathsReductionQoTO  implements IntegratedRMLSAAlgorithmInt
 						
 						for(Circuit circuitTemp : circuitList){
 							
-							boolean QoT = cp.computeQualityOfTransmission(circuitTemp, circuit, true);
-							double deltaSNR = circuitTemp.getSNR() - circuitTemp.getModulation().getSNRthreshold();
+							QoTEvaluation evaluation = cp.evaluateQualityOfTransmission(circuitTemp, circuit, true);
+							boolean QoT = evaluation.isQoT();
+							double deltaSNR = evaluation.getSNR() - circuitTemp.getModulation().getSNRthreshold();
 							
 							if(deltaSNR < worstDeltaSNR){
 								worstDeltaSNR = deltaSNR;
@@ -4,7 +4,6 @@ import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Vector;
 
@@ -12,9 +11,13 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import grmlsa.Route;
+import grmlsa.RouteRepository;
+import grmlsa.ShortestPathTree;
 import network.Circuit;
+import network.Link;
 import network.Mesh;
 import network.Node;
+import network.PairTable;
 import simulationControl.Util;
 
 /**
@@ -28,12 +31,16 @@ public class DJK implements RoutingAlgorithmInterface {
 
     private HashMap<String, Route> routesForAllPairs;
 
+    // The same routes, by the ids of the nodes
+    private PairTable<Route> routesByIds;
+
     private Util util;
 
     @Override
     public boolean findRoute(Circuit circuit, Mesh mesh) {
         if (routesForAllPairs == null) {
-        	computeAllRoutes(mesh);
+        	routesForAllPairs = RouteRepository.getRoute(mesh, "DJK", true, this::computeAllRoutes);
+        	routesByIds = PairTable.fromNames(mesh, routesForAllPairs, DIV);
         	//salveRoutesByPar(mesh.getNodeList());
             util = mesh.getUtil();
         }
@@ -41,7 +48,7 @@ public class DJK implements RoutingAlgorithmInterface {
         Node source = circuit.getSource();
         Node destination = circuit.getDestination();
 
-        Route route = routesForAllPairs.get(source.getName() + DIV + destination.getName());
+        Route route = routesByIds.get(source, destination);
 
         if (route != null) {
             circuit.setRoute(route);
@@ -55,12 +62,14 @@ public class DJK implements RoutingAlgorithmInterface {
      * Computes the smallest paths for each pair
      *
      * @param mesh Mesh
+     * @return HashMap<String, Route>
      */
-    private void computeAllRoutes(Mesh mesh) {
-        routesForAllPairs = new HashMap<String, Route>();
+    private HashMap<String, Route> computeAllRoutes(Mesh mesh) {
+        HashMap<String, Route> routesForAllPairs = new HashMap<String, Route>();
         for (Node n1 : mesh.getNodeList()) {
-            shortestPaths(n1, mesh);
+            shortestPaths(n1, mesh, routesForAllPairs);
         }
+        return routesForAllPairs;
     }
 
     /**
@@ -69,68 +78,18 @@ public class DJK implements RoutingAlgorithmInterface {
      *
      * @param source Node
      * @param mesh  Mesh
+     * @param routesForAllPairs HashMap<String, Route>
      */
-    private void shortestPaths(Node source, Mesh mesh) {
-        HashMap<Node, Double> undefined = new HashMap<>(); //Current distances from the nodes to the origin
-        HashMap<Node, Vector<Node>> routes = new HashMap<>(); //Current routes from source to each node
-
-        for (Node n : mesh.getNodeList()) { //Signaling infinite distance to all nodes in the network
-            undefined.put(n, 999999999999999.0);
-        }
+    private void shortestPaths(Node source, Mesh mesh, HashMap<String, Route> routesForAllPairs) {
+        ShortestPathTree tree = new ShortestPathTree(mesh, source.getId(), Link::getDistance);
 
-        undefined.put(source, 0.0); //Distance 0 from the source node to itself
-        Node nAux1;
-        Vector<Node> rAux;
-
-        nAux1 = source;
-        rAux = new Vector<>();
-        rAux.add(nAux1);
-        routes.put(nAux1, rAux);
-
-        while (!undefined.isEmpty()) {
-            nAux1 = minDistAt(undefined);
-
-            //Open the vertex
-            for (Node n : mesh.getAdjacents(nAux1)) {
-                if (!undefined.containsKey(n)) continue;
-
-                rAux = (Vector<Node>) routes.get(nAux1).clone();
-                rAux.add(n);
-                
-                //Check if it is necessary to update the route
-                if (undefined.get(n) == null || undefined.get(n) > undefined.get(nAux1) + mesh.getLink(nAux1.getName(), n.getName()).getDistance()) {
-                    undefined.put(n, undefined.get(nAux1) + mesh.getLink(nAux1.getName(), n.getName()).getDistance());
-                    routes.put(n, rAux);
-                }
+        for (Node n : mesh.getNodeList()) {
+            Route route = tree.getRoute(n.getId());
+            if (route != null) {
+                routesForAllPairs.put(source.getName() + DIV + n.getName(), route);
             }
-            Double removed = undefined.remove(nAux1); //Closing the vertex
-
-            routesForAllPairs.put(source.getName() + DIV + nAux1.getName(), new Route(routes.get(nAux1)));
-
-            //System.out.println("closed: " + nAux1.getName() + "    size: " + undefined.keySet().size() + "   removed: " + removed);
         }
     }
-
-    /**
-     * Selects the node with the lowest current distance
-     *
-     * @param undefined HashMap<Node, Double>
-     * @return Node
-     */
-    private Node minDistAt(HashMap<Node, Double> undefined) {
-
-        Iterator<Node> it = undefined.keySet().iterator();
-
-        Node res = it.next();
-        Node aux;
-        while (it.hasNext()) {
-            aux = it.next();
-
-            if (undefined.get(res) > undefined.get(aux)) res = aux;
-        }
-
-        return res;
-    }
     
     /**
 	 * Returns the route list for all pairs
@@ -1,9 +1,11 @@
 package grmlsa.routing;
 
 import grmlsa.Route;
+import grmlsa.RouteRepository;
 import network.Circuit;
 import network.Mesh;
 import network.Node;
+import network.PairTable;
 import simulationControl.Util;
 
 import java.io.File;
@@ -31,17 +33,22 @@ public class FixedRoutes implements RoutingAlgorithmInterface {
 
     private HashMap<String, Route> routesForAllPairs;
 
+    // The same routes, by the ids of the nodes
+    private PairTable<Route> routesByIds;
+
 
     @Override
     public boolean findRoute(Circuit request, Mesh mesh) {
         if (routesForAllPairs == null) {
-        	computeAllRoutes(mesh);
+        	String filePath = mesh.getUtil().projectPath + System.getProperty("file.separator") + "routesByPar.txt";
+        	routesForAllPairs = RouteRepository.getRoute(mesh, "FixedRoutes" + filePath, false, this::computeAllRoutes);
+        	routesByIds = PairTable.fromNames(mesh, routesForAllPairs, DIV);
         }
 
         Node source = request.getSource();
         Node destination = request.getDestination();
 
-        Route route = routesForAllPairs.get(source.getName() + DIV + destination.getName());
+        Route route = routesByIds.get(source, destination);
 
         if (route != null) {
             request.setRoute(route);
@@ -55,8 +62,9 @@ public class FixedRoutes implements RoutingAlgorithmInterface {
      * Computes the smallest paths for each pair
      *
      * @param mesh Mesh
+     * @return HashMap<String, Route>
      */
-    private void computeAllRoutes(Mesh mesh) {
+    private HashMap<String, Route> computeAllRoutes(Mesh mesh) {
         try {
             String separator = System.getProperty("file.separator");
             String filePath = mesh.getUtil().projectPath + separator + "routesByPar.txt";
@@ -81,7 +89,7 @@ public class FixedRoutes implements RoutingAlgorithmInterface {
             e.printStackTrace();
         }
 
-        routesForAllPairs = new HashMap<String, Route>();
+        HashMap<String, Route> routesForAllPairs = new HashMap<String, Route>();
         
         for (int i = 0; i < routeList.size(); i++) {
         	String nodes[] = routeList.get(i).split("-");
@@ -94,6 +102,7 @@ public class FixedRoutes implements RoutingAlgorithmInterface {
             String pair = nodes[0] + DIV + nodes[nodes.length - 1];
             routesForAllPairs.put(pair, new Route(route));
         }
+        return routesForAllPairs;
     }
 
     /**
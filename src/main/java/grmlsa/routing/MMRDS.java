@@ -14,10 +14,12 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import grmlsa.Route;
+import grmlsa.RouteRepository;
 import network.Circuit;
 import network.Link;
 import network.Mesh;
 import network.Node;
+import network.PairTable;
 import simulationControl.Util;
 
 /**
@@ -30,6 +32,9 @@ public class MMRDS implements RoutingAlgorithmInterface {
     private static final String DIV = "-";
 
     private HashMap<String, Route> routesForAllPairs;
+
+    // The same routes, by the ids of the nodes
+    private PairTable<Route> routesByIds;
     private Double alpha = 1.0;
 
     private Util util;
@@ -37,7 +42,11 @@ public class MMRDS implements RoutingAlgorithmInterface {
     @Override
     public boolean findRoute(Circuit request, Mesh mesh) {
         if (routesForAllPairs == null) {
-            computeAllRoutes(mesh);
+            routesForAllPairs = RouteRepository.getRoute(mesh, "MMRDS" + alpha, true, m -> {
+                computeAllRoutes(m);
+                return routesForAllPairs;
+            });
+            routesByIds = PairTable.fromNames(mesh, routesForAllPairs, DIV);
             salveRoutesByPar(mesh.getNodeList());
             this.util = mesh.getUtil();
         }
@@ -45,7 +54,7 @@ public class MMRDS implements RoutingAlgorithmInterface {
         Node source = request.getSource();
         Node destination = request.getDestination();
 
-        Route r = routesForAllPairs.get(source.getName() + DIV + destination.getName());
+        Route r = routesByIds.get(source, destination);
 
         if (r != null) {
             request.setRoute(r);
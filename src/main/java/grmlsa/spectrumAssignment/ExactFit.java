@@ -22,6 +22,11 @@ public class ExactFit implements SpectrumAssignmentAlgorithmInterface {
 
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
+        if (!IntersectionFreeSpectrum.hasFreeBlock(circuit.getRoute(), circuit.getGuardBand(), numberOfSlots)) { // There is no block large enough on the route
+            circuit.setSpectrumAssigned(null);
+            return false;
+        }
+
     	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand());
 
         int chosen[] = policy(numberOfSlots, composition, circuit, cp);
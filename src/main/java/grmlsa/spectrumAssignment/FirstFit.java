@@ -16,9 +16,12 @@ public class FirstFit implements SpectrumAssignmentAlgorithmInterface {
 
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
-        List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand());
-        
-        int chosen[] = policy(numberOfSlots, composition, circuit, cp);
+        int maxAmplitude = circuit.getPair().getSource().getTxs().getMaxSpectralAmplitude();
+        int chosen[] = null;
+        if (numberOfSlots <= maxAmplitude) {
+            // The segment tree of the route gives the first band that accommodates the request without scanning the free bands
+            chosen = IntersectionFreeSpectrum.firstFreeBlock(circuit.getRoute(), circuit.getGuardBand(), numberOfSlots);
+        }
         circuit.setSpectrumAssigned(chosen);
         
         if (chosen == null)
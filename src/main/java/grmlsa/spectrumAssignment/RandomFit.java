@@ -2,7 +2,6 @@ package grmlsa.spectrumAssignment;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 import network.Circuit;
 import network.ControlPlane;
@@ -11,6 +10,7 @@ import util.IntersectionFreeSpectrum;
 /**
  * This class represents the spectrum allocation technique called Random Fit.
  * This technique chooses the randomly free spectrum band that accommodates the request.
+ * The choices are drawn from the random generator of the algorithms of the network, so they are reproducible.
  *
  * @author Alexandre
  */
@@ -44,8 +44,7 @@ public class RandomFit implements SpectrumAssignmentAlgorithmInterface {
 		}
 		
 		if(bandList.size() > 0){ //if you have free bands, choose one randomly
-			Random rand = new Random();
-			int indexBand = rand.nextInt(bandList.size());
+			int indexBand = cp.getMesh().getAlgorithmsRandGenerator().nextInt(bandList.size());
 			chosen = bandList.get(indexBand);
 			chosen[1] = chosen[0] + numberOfSlots - 1; //it is not necessary to allocate the entire band, only the number of slots necessary
 		}
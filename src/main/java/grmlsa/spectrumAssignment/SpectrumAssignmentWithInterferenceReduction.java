@@ -8,6 +8,7 @@ import java.util.Map;
 import network.Circuit;
 import network.ControlPlane;
 import network.Link;
+import network.QoTEvaluation;
 import util.IntersectionFreeSpectrum;
 
 /**
@@ -108,10 +109,11 @@ public class SpectrumAssignmentWithInterferenceReduction implements SpectrumAssi
 						boolean impactOnOtherRequest = false; // without significant impact on other circuits
 						
 						for(Circuit circuitTemp : circuitList){
-							boolean QoT = cp.computeQualityOfTransmission(circuitTemp, circuit, true);
+							QoTEvaluation evaluation = cp.evaluateQualityOfTransmission(circuitTemp, circuit, true);
+							boolean QoT = evaluation.isQoT();
 							
 							double SNRthreshold = circuitTemp.getModulation().getSNRthreshold();
-							double deltaSNR = circuitTemp.getSNR() - SNRthreshold;
+							double deltaSNR = evaluation.getSNR() - SNRthreshold;
 							
 							if(deltaSNR < worstDeltaSNR){
 								worstDeltaSNR = deltaSNR;
@@ -212,10 +214,11 @@ public class SpectrumAssignmentWithInterferenceReduction implements SpectrumAssi
 						boolean impactOnOtherRequest = false; // without significant impact on other circuits
 						
 						for(Circuit circuitTemp : circuitList){
-							boolean QoT = cp.computeQualityOfTransmission(circuitTemp, circuit, true);
+							QoTEvaluation evaluation = cp.evaluateQualityOfTransmission(circuitTemp, circuit, true);
+							boolean QoT = evaluation.isQoT();
 							
 							double SNRthreshold = circuitTemp.getModulation().getSNRthreshold();
-							double deltaSNR = circuitTemp.getSNR() - SNRthreshold;
+							double deltaSNR = evaluation.getSNR() - SNRthreshold;
 							
 							if(deltaSNR < worstDeltaSNR){
 								worstDeltaSNR = deltaSNR;
@@ -15,6 +15,11 @@ public class WorstFit implements SpectrumAssignmentAlgorithmInterface {
 
     @Override
     public boolean assignSpectrum(int numberOfSlots, Circuit circuit, ControlPlane cp) {
+		if (!IntersectionFreeSpectrum.hasFreeBlock(circuit.getRoute(), circuit.getGuardBand(), numberOfSlots)) { // There is no block large enough on the route
+			circuit.setSpectrumAssigned(null);
+			return false;
+		}
+
     	List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand());
 
 		// now just look for the free range with size farthest from the amount of slots required
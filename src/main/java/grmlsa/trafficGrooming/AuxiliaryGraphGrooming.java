@@ -74,7 +74,7 @@ public class AuxiliaryGraphGrooming implements TrafficGroomingAlgorithmInterface
         List<Circuit> lc = new ArrayList<>();
         for(AuxiliaryGraph.Edge e: solution){
             MyEdge me = (MyEdge) e;
-            me.getCircuit().getRequests().add(rfc);
+            me.getCircuit().addRequest(rfc);
             lc.add(me.getCircuit());
         }
         rfc.setCircuit(lc);
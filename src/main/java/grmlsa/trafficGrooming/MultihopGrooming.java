@@ -248,7 +248,7 @@ public abstract class MultihopGrooming implements TrafficGroomingAlgorithmInterf
         if (hasSuficientResitualCapacity) {
 
             for (Circuit circuit : ms.virtualRoute) {
-                circuit.getRequests().add(rfc);
+                circuit.addRequest(rfc);
             }
 
             rfc.setCircuit(ms.virtualRoute);
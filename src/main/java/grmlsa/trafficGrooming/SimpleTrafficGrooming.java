@@ -21,7 +21,7 @@ public class SimpleTrafficGrooming implements TrafficGroomingAlgorithmInterface
 	public boolean searchCircuitsForGrooming(RequestForConnection rfc, ControlPlane cp) throws Exception {
 
 		// Search for active circuits with the same origin and destination of the new request.
-		List<Circuit> activeCircuits = cp.searchForActiveCircuits(rfc.getPair().getSource().getName(), rfc.getPair().getDestination().getName());
+		List<Circuit> activeCircuits = cp.searchForActiveCircuits(rfc.getPair().getSource(), rfc.getPair().getDestination());
 
 		for (Circuit circuit : activeCircuits) {
 			
@@ -44,6 +44,10 @@ public class BlockingProbability extends Measurement {
     private HashMap<String, HashMap<Double, Integer>> numReqBlockPairBW;
 
     private Util util;
+
+    // Precision reached when the sequential stopping rule is active
+    private SequentialStoppingRule stoppingRule;
+
     /**
      * Creates a new instance of BlockingProbability
      *  @param loadPoint int
@@ -310,4 +314,22 @@ public class BlockingProbability extends Measurement {
     public Util getUtil() {
         return util;
     }
+
+    /**
+     * Returns the sequential stopping rule of the replication, or null if it is not active
+     *
+     * @return SequentialStoppingRule
+     */
+    public SequentialStoppingRule getStoppingRule() {
+        return stoppingRule;
+    }
+
+    /**
+     * Sets the sequential stopping rule of the replication
+     *
+     * @param stoppingRule SequentialStoppingRule
+     */
+    public void setStoppingRule(SequentialStoppingRule stoppingRule) {
+        this.stoppingRule = stoppingRule;
+    }
 }
@@ -31,6 +31,8 @@ public class ExternalFragmentation extends Measurement {
 
     private HashMap<String, Double> ExternalFragLinks;
 
+    private transient int freeBands[]; // Buffer of the free spectrum bands of a link
+
     /**
      * Creates a new instance of ExternalFragmentation
      * 
@@ -106,10 +108,14 @@ public class ExternalFragmentation extends Measurement {
         Double aux, aux2;
         double externalFragAverage = 0.0;
         ComputesFragmentation cf = new ComputesFragmentation();
+        if (freeBands == null) {
+            freeBands = new int[mesh.maximumSlotsByLinks() + 1];
+        }
         for (Link link : mesh.getLinkList()) {
             aux = ExternalFragLinks.get(link.getSource().getName() + SEP + link.getDestination().getName());
             if (aux == null) aux = 0.0;
-            aux2 = cf.externalFragmentation(link.getFreeSpectrumBands(0));
+            int numBands = link.getFreeSpectrumBands(0, freeBands);
+            aux2 = cf.externalFragmentation(freeBands, numBands);
             aux += aux2;
             ExternalFragLinks.put(link.getSource().getName() + SEP + link.getDestination().getName(), aux);
             externalFragAverage += aux2;
@@ -125,14 +131,8 @@ public class ExternalFragmentation extends Measurement {
      */
     private void observationExternalFragHorizontal(Circuit circuit) {
         if (circuit.getRoute() == null) return;
-        List<Link> links = circuit.getRoute().getLinkList();
         
-        List<int[]> composition;
-        composition = links.get(0).getFreeSpectrumBands(circuit.getGuardBand());
-        
-        for (int i = 1; i < links.size(); i++) {
-            composition = IntersectionFreeSpectrum.merge(composition, links.get(i).getFreeSpectrumBands(circuit.getGuardBand()));
-        }
+        List<int[]> composition = IntersectionFreeSpectrum.merge(circuit.getRoute(), circuit.getGuardBand());
         ComputesFragmentation cf = new ComputesFragmentation();
         
         ExternalFragHorizontal += cf.externalFragmentation(composition);
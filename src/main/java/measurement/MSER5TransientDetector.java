@@ -0,0 +1,208 @@
+package measurement;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class detects the end of the transient phase with the MSER-5 heuristic (Marginal Standard Error Rule).
+ * Two series are observed at each request: the blocking indicator and the fraction of occupied slots of the network,
+ * which reaches its steady state even while there is no blocking. Each series is grouped in batches of 5 and, for each
+ * candidate truncation point d, the statistic MSER(d) = S^2(d) / (k - d) is computed over the remaining k - d batch means.
+ * The truncation point of each series is the d that minimizes its statistic. A series that does not vary after its
+ * truncation point gives no information, as the blocking of a network without blocking at light loads, so the truncation
+ * point is taken from the other series, or the larger of the two when both vary. It is only accepted when it is in the
+ * first half of the observations, otherwise more observations are needed.
+ * The statistic is evaluated at each batch, so the detection happens as soon as a truncation point is accepted.
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class MSER5TransientDetector implements Serializable {
+
+	public static final int BATCH_SIZE = 5;
+
+	/**
+	 * Minimum number of batches before the evaluations of the statistic
+	 */
+	private static final int MIN_BATCHES = 100;
+
+	/**
+	 * Relative size of the squared deviations below which a series is considered constant, due to rounding
+	 */
+	private static final double CONSTANT_SERIES_TOLERANCE = 1e-12;
+
+	private double batchMeans[]; // Blocking
+	private double occupationBatchMeans[];
+	private int numBatches;
+	private int numBlockedInBatch;
+	private double occupationInBatch;
+	private int numObservationsInBatch;
+	private int numObservations;
+
+	private int maxObservations;
+
+	private boolean detected;
+	private int truncationPoint;
+
+	/**
+	 * Creates a new instance of MSER5TransientDetector
+	 *
+	 * @param maxObservations int - Number of observations from which the transient phase is considered over anyway
+	 */
+	public MSER5TransientDetector(int maxObservations) {
+		this.maxObservations = maxObservations;
+		this.batchMeans = new double[64];
+		this.occupationBatchMeans = new double[64];
+		this.truncationPoint = -1;
+	}
+
+	/**
+	 * Adds the observation of a request
+	 *
+	 * @param success boolean
+	 * @param occupation double - fraction of the slots of the network occupied after the request
+	 */
+	public void addObservation(boolean success, double occupation) {
+		if (detected) {
+			return;
+		}
+
+		numObservations++;
+		numObservationsInBatch++;
+		if (!success) {
+			numBlockedInBatch++;
+		}
+		occupationInBatch += occupation;
+
+		if (numObservationsInBatch == BATCH_SIZE) {
+			if (numBatches == batchMeans.length) {
+				batchMeans = Arrays.copyOf(batchMeans, numBatches * 2);
+				occupationBatchMeans = Arrays.copyOf(occupationBatchMeans, numBatches * 2);
+			}
+			batchMeans[numBatches] = (double) numBlockedInBatch / BATCH_SIZE;
+			occupationBatchMeans[numBatches] = occupationInBatch / BATCH_SIZE;
+			numBatches++;
+			numObservationsInBatch = 0;
+			numBlockedInBatch = 0;
+			occupationInBatch = 0.0;
+
+			if (numBatches >= MIN_BATCHES) {
+				evaluate();
+			}
+		}
+
+		if (!detected && numObservations >= maxObservations) {
+			detected = true;
+			truncationPoint = numObservations;
+		}
+	}
+
+	/**
+	 * Searches the truncation point of both series and accepts it if it is in the first half of the batches
+	 */
+	private void evaluate() {
+		int best = Math.max(truncationPoint(batchMeans), truncationPoint(occupationBatchMeans));
+
+		if (best >= 0 && best < numBatches / 2) {
+			detected = true;
+			truncationPoint = best * BATCH_SIZE;
+		}
+	}
+
+	/**
+	 * Returns the truncation point that minimizes the MSER statistic of a series among the first half of the batches.
+	 * If the series does not vary after this point, the statistic is zero for any truncation and it is not informative.
+	 *
+	 * @param means double[] - batch means of the series
+	 * @return int - -1 if the series is not informative
+	 */
+	private int truncationPoint(double means[]) {
+		int k = numBatches;
+		int half = k / 2;
+
+		// Sums of the batch means from the candidate truncation point to the end
+		double sum = 0.0;
+		double sumSquares = 0.0;
+		for (int j = half; j < k; j++) {
+			sum += means[j];
+			sumSquares += means[j] * means[j];
+		}
+
+		int best = half;
+		double bestValue = mser(sum, sumSquares, k - half);
+		double bestSquaredDeviations = squaredDeviations(sum, sumSquares, k - half);
+		double bestSumSquares = sumSquares;
+		for (int d = half - 1; d >= 0; d--) {
+			sum += means[d];
+			sumSquares += means[d] * means[d];
+			double value = mser(sum, sumSquares, k - d);
+			if (value <= bestValue) { // In case of ties the smallest truncation is chosen
+				bestValue = value;
+				bestSquaredDeviations = squaredDeviations(sum, sumSquares, k - d);
+				bestSumSquares = sumSquares;
+				best = d;
+			}
+		}
+
+		if (bestSquaredDeviations <= CONSTANT_SERIES_TOLERANCE * bestSumSquares) {
+			return -1;
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the MSER statistic of n batch means
+	 *
+	 * @param sum double
+	 * @param sumSquares double
+	 * @param n int
+	 * @return double
+	 */
+	private double mser(double sum, double sumSquares, int n) {
+		return squaredDeviations(sum, sumSquares, n) / ((double) n * n);
+	}
+
+	/**
+	 * Returns the sum of the squared deviations from the mean of n batch means
+	 *
+	 * @param sum double
+	 * @param sumSquares double
+	 * @param n int
+	 * @return double
+	 */
+	private double squaredDeviations(double sum, double sumSquares, int n) {
+		double squaredDeviations = sumSquares - sum * sum / n;
+		if (squaredDeviations < 0.0) { // Rounding protection
+			squaredDeviations = 0.0;
+		}
+		return squaredDeviations;
+	}
+
+	/**
+	 * Returns whether the end of the transient phase was detected
+	 *
+	 * @return boolean
+	 */
+	public boolean isDetected() {
+		return detected;
+	}
+
+	/**
+	 * Returns the truncation point chosen in number of requests, or -1 if it was not detected yet
+	 *
+	 * @return int
+	 */
+	public int getTruncationPoint() {
+		return truncationPoint;
+	}
+
+	/**
+	 * Returns the number of observations made until the detection
+	 *
+	 * @return int
+	 */
+	public int getNumObservations() {
+		return numObservations;
+	}
+
+}
@@ -16,6 +16,9 @@ import java.io.Serializable;
 @SuppressWarnings("serial")
 public class Measurements implements Serializable {
 
+	public static final String TRANSIENT_DETECTION_FIXED = "fixed";
+	public static final String TRANSIENT_DETECTION_MSER5 = "mser5";
+
 	/**
      * Minimum number of requests to be generated
      */
@@ -62,6 +65,30 @@ public class Measurements implements Serializable {
      */
     private SimulationConfig.Metrics measuringMetrics;
 
+    /**
+     * Configuration of the sequential stopping rule
+     */
+    private SimulationConfig.StoppingRule stoppingRuleConfig;
+
+    /**
+     * Sequential stopping rule, null when the number of requests is fixed
+     */
+    private SequentialStoppingRule stoppingRule;
+
+    /**
+     * Detector of the end of the transient phase, null when the transient phase has a fixed size
+     */
+    private MSER5TransientDetector transientDetector;
+
+    /**
+     * Number of batches of the long run, in the batch means mode each batch is reported as a replication
+     */
+    private int numBatches;
+
+    /**
+     * Metrics of the batches already finished
+     */
+    private List<List<Measurement>> finishedBatchesMetrics;
 
 	/**
      * Creates a new instance of Measurements
@@ -70,8 +97,38 @@ public class Measurements implements Serializable {
      * @param loadPoint int
      * @param replication int
      * @param mesh Mesh
+     * @param measuringMetrics SimulationConfig.Metrics
      */
     public Measurements(int numMinRequest, int loadPoint, int replication, Mesh mesh, SimulationConfig.Metrics measuringMetrics) {
+        this(numMinRequest, loadPoint, replication, mesh, measuringMetrics, null, TRANSIENT_DETECTION_MSER5, 1);
+    }
+
+    /**
+     * Creates a new instance of Measurements according to the simulation settings.
+     * In the batch means mode the replications of the settings are the batches of a single long run.
+     * 
+     * @param sc SimulationConfig
+     * @param loadPoint int
+     * @param replication int
+     * @param mesh Mesh
+     */
+    public Measurements(SimulationConfig sc, int loadPoint, int replication, Mesh mesh) {
+        this(sc.getRequests(), loadPoint, replication, mesh, sc.getActiveMetrics(), sc.getStoppingRule(), sc.getTransientDetection(), sc.isBatchMeans() ? sc.getReplications() : 1);
+    }
+
+    /**
+     * Creates a new instance of Measurements
+     * 
+     * @param numMinRequest int - Number of requests of each replication or batch
+     * @param loadPoint int
+     * @param replication int
+     * @param mesh Mesh
+     * @param measuringMetrics SimulationConfig.Metrics
+     * @param stoppingRuleConfig SimulationConfig.StoppingRule
+     * @param transientDetection String - Method used to determine the end of the transient phase
+     * @param numBatches int - Number of batches of the run
+     */
+    private Measurements(int numMinRequest, int loadPoint, int replication, Mesh mesh, SimulationConfig.Metrics measuringMetrics, SimulationConfig.StoppingRule stoppingRuleConfig, String transientDetection, int numBatches) {
         this.loadPoint = loadPoint;
         this.replication = replication;
     	this.transientStep = true;
@@ -79,6 +136,20 @@ public class Measurements implements Serializable {
         this.mesh = mesh;
         
         this.measuringMetrics = measuringMetrics;
+        this.numBatches = numBatches;
+        this.finishedBatchesMetrics = new ArrayList<>();
+        
+        // The stopping rule decides the size of a replication, so it does not apply to batches of fixed size
+        if (numBatches == 1) {
+            this.stoppingRuleConfig = stoppingRuleConfig;
+        }
+        
+        if (transientDetection == null || transientDetection.equals("") || transientDetection.equals(TRANSIENT_DETECTION_MSER5)) {
+            // At most as many requests as in the fixed transient phase are discarded
+            this.transientDetector = new MSER5TransientDetector(numMinRequest / 10);
+        } else if (!transientDetection.equals(TRANSIENT_DETECTION_FIXED)) {
+            throw new IllegalArgumentException("Unknown transient detection: " + transientDetection);
+        }
         
         initializeMetrics(mesh);
     }
@@ -91,11 +162,16 @@ public class Measurements implements Serializable {
     private void initializeMetrics(Mesh mesh){
     	this.numGeneratedReq = 0.0;
     	
+    	if(stoppingRuleConfig != null && stoppingRuleConfig.active){
+    		this.stoppingRule = new SequentialStoppingRule(stoppingRuleConfig, numMinRequest);
+    	}
+    	
         this.metricsList = new ArrayList<Measurement>();
         
         // Activates the metrics set up in the SimulationConfig file
 		if(measuringMetrics.BlockingProbability){
 			BlockingProbability probabilidadeDeBloqueio = new BlockingProbability(loadPoint, replication, mesh.getUtil());
+			probabilidadeDeBloqueio.setStoppingRule(stoppingRule); // To report the precision reached
 			this.metricsList.add(probabilidadeDeBloqueio);
 		}
 		if(measuringMetrics.BandwidthBlockingProbability){
@@ -149,6 +225,28 @@ public class Measurements implements Serializable {
     	for(Measurement metric : metricsList){
     		metric.addNewObservation(cp, success, request);
     	}
+    	if(transientStep && transientDetector != null){
+    		transientDetector.addObservation(success, getOccupation());
+    	}
+    	if(stoppingRule != null){
+    		stoppingRule.addObservation(success, request.getRequiredBandwidth());
+    	}
+    }
+
+    /**
+     * Returns the fraction of the slots of the network that are occupied, the steady-state signal of the transient
+     * detection together with the blocking
+     * 
+     * @return double
+     */
+    private double getOccupation() {
+        long usedSlots = 0;
+        long numSlots = 0;
+        for (Link link : mesh.getLinkList()) {
+            usedSlots += link.getUsedSlots();
+            numSlots += link.getNumOfSlots();
+        }
+        return numSlots == 0 ? 0.0 : (double) usedSlots / numSlots;
     }
 
     /**
@@ -172,14 +270,48 @@ public class Measurements implements Serializable {
      *
      */
     public void transientStepVerify() {
-    	// // when it reaches 10% of the number of simulation requests, the system must be stabilized
-        if (transientStep && (numGeneratedReq >= 0.1 * numMinRequest)) {
+        if (!transientStep) {
+            return;
+        }
+        
+        if (transientDetector != null) {
+            // The metrics are initialized as soon as the MSER-5 heuristic accepts a truncation point, so the requests
+            // between the truncation point and the detection are also discarded
+            if (transientDetector.isDetected()) {
+                this.transientStep = false;
+                
+                System.out.println("Load point " + loadPoint + ", replication " + replication + ": metrics collected after " 
+                        + transientDetector.getNumObservations() + " requests (MSER-5 truncation point: " + transientDetector.getTruncationPoint() + ")");
+                
+                initializeMetrics(mesh);
+            }
+            
+        // when it reaches 10% of the number of simulation requests, the system must be stabilized
+        } else if (numGeneratedReq >= 0.1 * numMinRequest) {
             this.transientStep = false;
 
             initializeMetrics(mesh);
         }
     }
 
+    /**
+     * Verify the end of the current batch in the batch means mode.
+     * The metrics of the finished batch are stored and new metrics are created for the next batch, 
+     * which is reported as the next replication.
+     */
+    public void batchStepVerify() {
+        if (transientStep || finishedBatchesMetrics.size() >= numBatches - 1) {
+            return;
+        }
+        
+        if (numGeneratedReq >= numMinRequest) {
+            finishedBatchesMetrics.add(metricsList);
+            this.replication++;
+            
+            initializeMetrics(mesh);
+        }
+    }
+
     /**
      * Responsible for determining the end of the simulation.
      * If it returns true no event should be scheduled, but those already scheduled will be performed.
@@ -187,6 +319,12 @@ public class Measurements implements Serializable {
      * @return boolean
      */
     public boolean finished() {
+        if (stoppingRule != null) {
+            return !transientStep && stoppingRule.finished();
+        }
+        if (finishedBatchesMetrics.size() < numBatches - 1) { // There are batches to be simulated
+            return false;
+        }
         if (this.numGeneratedReq >= this.numMinRequest) {
             return true;
         }
@@ -202,6 +340,18 @@ public class Measurements implements Serializable {
  		return metricsList;
  	}
  	
+ 	/**
+ 	 * Returns the lists of performance metrics of each batch, including the current one.
+ 	 * When the batch means mode is not active there is only the list of the replication.
+ 	 * 
+ 	 * @return List<List<Measurement>>
+ 	 */
+ 	public List<List<Measurement>> getBatchesMetrics(){
+ 		List<List<Measurement>> batchesMetrics = new ArrayList<>(finishedBatchesMetrics);
+ 		batchesMetrics.add(metricsList);
+ 		return batchesMetrics;
+ 	}
+ 	
  	/**
 	 * @return the measuringMetrics
 	 */
@@ -209,6 +359,15 @@ public class Measurements implements Serializable {
 		return measuringMetrics;
 	}
 	
+	/**
+	 * Returns the sequential stopping rule, or null if the number of requests is fixed
+	 * 
+	 * @return SequentialStoppingRule
+	 */
+	public SequentialStoppingRule getStoppingRule() {
+		return stoppingRule;
+	}
+	
 	public ConsumedEnergy getConsumedEnergyMetric() {
 		return consumedEnergyMetric;
 	}
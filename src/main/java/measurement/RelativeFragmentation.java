@@ -25,6 +25,8 @@ public class RelativeFragmentation extends Measurement {
     private HashMap<Integer, Double> relativeFrag;
     private int numberObservations;
 
+    private transient int freeBands[]; // Buffer of the free spectrum bands of a link
+
     /**
      * Creates a new instance of RelativeFragmentation
      * 
@@ -80,8 +82,12 @@ public class RelativeFragmentation extends Measurement {
     private void observationAllLinks(Integer c, Mesh mesh) {
         double averageFragLink = 0.0;
         ComputesFragmentation cf = new ComputesFragmentation();
+        if (freeBands == null) {
+            freeBands = new int[mesh.maximumSlotsByLinks() + 1];
+        }
         for (Link link : mesh.getLinkList()) {
-            double fAux = cf.relativeFragmentation(link.getFreeSpectrumBands(0), c);
+            int numBands = link.getFreeSpectrumBands(0, freeBands);
+            double fAux = cf.relativeFragmentation(freeBands, numBands, c);
             averageFragLink += fAux;
         }
         averageFragLink = averageFragLink / ((double) mesh.getLinkList().size());
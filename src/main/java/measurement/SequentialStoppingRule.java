@@ -0,0 +1,205 @@
+package measurement;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import simulationControl.parsers.SimulationConfig;
+import util.ConfidenceInterval;
+
+/**
+ * This class implements a sequential stopping rule based on the precision of the blocking probability.
+ * The requests are grouped in batches of fixed size and the confidence interval is computed over the batch means.
+ * The replication is finished when the relative half-width of the interval reaches the desired value,
+ * respecting the minimum and maximum number of requests.
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class SequentialStoppingRule implements Serializable {
+
+	private double relativeHalfWidth;
+	private double confidence;
+	private int batchSize;
+	private int minBatches;
+	private int minRequests;
+	private int maxRequests;
+	private boolean checkBandwidthBlocking;
+
+	private int numRequests;
+	private boolean converged;
+
+	// Current batch
+	private int numBlockedInBatch;
+	private double requestedBandwidthInBatch;
+	private double blockedBandwidthInBatch;
+	private int numRequestsInBatch;
+
+	// Batch means
+	private double blockingBatchMeans[];
+	private double bandwidthBlockingBatchMeans[];
+	private int numBatches;
+
+	private double blockingRelativeHalfWidth;
+	private double bandwidthBlockingRelativeHalfWidth;
+
+	/**
+	 * Creates a new instance of SequentialStoppingRule
+	 *
+	 * @param sr SimulationConfig.StoppingRule
+	 * @param numRequests int - Number of requests of the simulation
+	 */
+	public SequentialStoppingRule(SimulationConfig.StoppingRule sr, int numRequests) {
+		this.relativeHalfWidth = sr.relativeHalfWidth;
+		this.confidence = sr.confidence;
+		this.batchSize = Math.max(1, sr.batchSize);
+		this.minBatches = Math.max(2, sr.minBatches);
+		this.minRequests = sr.minRequests;
+		if (this.minRequests <= 0) {
+			this.minRequests = numRequests;
+		}
+		this.maxRequests = sr.maxRequests;
+		if (this.maxRequests <= 0) {
+			this.maxRequests = 10 * numRequests;
+		}
+		this.checkBandwidthBlocking = sr.bandwidthBlockingProbability;
+
+		this.blockingBatchMeans = new double[16];
+		this.bandwidthBlockingBatchMeans = new double[16];
+		this.blockingRelativeHalfWidth = Double.POSITIVE_INFINITY;
+		this.bandwidthBlockingRelativeHalfWidth = Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Adds the observation of a request
+	 *
+	 * @param success boolean
+	 * @param bandwidth double - Requested bandwidth
+	 */
+	public void addObservation(boolean success, double bandwidth) {
+		numRequests++;
+		numRequestsInBatch++;
+		requestedBandwidthInBatch += bandwidth;
+		if (!success) {
+			numBlockedInBatch++;
+			blockedBandwidthInBatch += bandwidth;
+		}
+
+		if (numRequestsInBatch == batchSize) {
+			closeBatch();
+		}
+	}
+
+	/**
+	 * Stores the means of the current batch and checks the precision reached
+	 */
+	private void closeBatch() {
+		if (numBatches == blockingBatchMeans.length) {
+			blockingBatchMeans = Arrays.copyOf(blockingBatchMeans, numBatches * 2);
+			bandwidthBlockingBatchMeans = Arrays.copyOf(bandwidthBlockingBatchMeans, numBatches * 2);
+		}
+		blockingBatchMeans[numBatches] = (double) numBlockedInBatch / numRequestsInBatch;
+		bandwidthBlockingBatchMeans[numBatches] = blockedBandwidthInBatch / requestedBandwidthInBatch;
+		numBatches++;
+
+		numRequestsInBatch = 0;
+		numBlockedInBatch = 0;
+		requestedBandwidthInBatch = 0.0;
+		blockedBandwidthInBatch = 0.0;
+
+		if (numBatches >= minBatches) {
+			blockingRelativeHalfWidth = relativeHalfWidth(blockingBatchMeans);
+			bandwidthBlockingRelativeHalfWidth = relativeHalfWidth(bandwidthBlockingBatchMeans);
+
+			converged = blockingRelativeHalfWidth <= relativeHalfWidth;
+			if (checkBandwidthBlocking) {
+				converged = converged && (bandwidthBlockingRelativeHalfWidth <= relativeHalfWidth);
+			}
+		}
+	}
+
+	/**
+	 * Returns the half-width of the confidence interval divided by the mean of the batch means.
+	 * If all batches have the same mean (no blocking, for example) the precision is considered reached.
+	 *
+	 * @param batchMeans double[]
+	 * @return double
+	 */
+	private double relativeHalfWidth(double batchMeans[]) {
+		double mean = ConfidenceInterval.mean(batchMeans, numBatches);
+		double hw = ConfidenceInterval.halfWidth(batchMeans, numBatches, confidence);
+		if (hw == 0.0) {
+			return 0.0;
+		}
+		if (mean == 0.0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return hw / mean;
+	}
+
+	/**
+	 * Responsible for determining the end of the replication
+	 *
+	 * @return boolean
+	 */
+	public boolean finished() {
+		if (numRequests >= maxRequests) {
+			return true;
+		}
+		return converged && numRequests >= minRequests;
+	}
+
+	/**
+	 * Returns whether the desired precision was reached
+	 *
+	 * @return boolean
+	 */
+	public boolean isConverged() {
+		return converged;
+	}
+
+	/**
+	 * Returns the number of requests observed
+	 *
+	 * @return int
+	 */
+	public int getNumRequests() {
+		return numRequests;
+	}
+
+	/**
+	 * Returns the number of complete batches
+	 *
+	 * @return int
+	 */
+	public int getNumBatches() {
+		return numBatches;
+	}
+
+	/**
+	 * Returns the confidence level
+	 *
+	 * @return double
+	 */
+	public double getConfidence() {
+		return confidence;
+	}
+
+	/**
+	 * Returns the relative half-width reached for the blocking probability
+	 *
+	 * @return double
+	 */
+	public double getBlockingRelativeHalfWidth() {
+		return blockingRelativeHalfWidth;
+	}
+
+	/**
+	 * Returns the relative half-width reached for the bandwidth blocking probability
+	 *
+	 * @return double
+	 */
+	public double getBandwidthBlockingRelativeHalfWidth() {
+		return bandwidthBlockingRelativeHalfWidth;
+	}
+
+}
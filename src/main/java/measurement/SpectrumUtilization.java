@@ -26,6 +26,7 @@ public class SpectrumUtilization extends Measurement {
     private HashMap<String, Double> utilizationPerLink;
     private int[] desUtilizationPerSlot;
     private Integer maxSlotsByLinks;
+    private transient int freeBands[]; // Buffer of the free spectrum bands of a link
 
     /**
      * Creates a new instance of SpectrumUtilization
@@ -80,12 +81,12 @@ public class SpectrumUtilization extends Measurement {
 
             // Calculate slot unusability
 
-            for (int[] faixa : link.getFreeSpectrumBands(0)) {
-//                if(faixa[1]>400){
-//                    Link l = link;
-//                    int a = 2+2;
-//                }
-                incrementarDesUtFaixa(faixa);
+            if (freeBands == null) {
+                freeBands = new int[maxSlotsByLinks + 1];
+            }
+            int numBands = link.getFreeSpectrumBands(0, freeBands);
+            for (int b = 0; b < numBands; b++) {
+                incrementarDesUtFaixa(freeBands[2 * b], freeBands[2 * b + 1]);
             }
         }
 
@@ -99,11 +100,12 @@ public class SpectrumUtilization extends Measurement {
     /**
 	 * This method increases slot utilization
 	 * 
-	 * @param band int[]
+	 * @param firstSlot int
+	 * @param lastSlot int
 	 */
-    private void incrementarDesUtFaixa(int faixa[]) {
+    private void incrementarDesUtFaixa(int firstSlot, int lastSlot) {
         int i;
-        for (i = faixa[0] - 1; i < faixa[1]; i++) {
+        for (i = firstSlot - 1; i < lastSlot; i++) {
             desUtilizationPerSlot[i]++;
         }
     }
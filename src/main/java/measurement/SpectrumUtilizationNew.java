@@ -31,6 +31,7 @@ public class SpectrumUtilizationNew extends Measurement {
     private int[] unusePerSlot;
 
     private Integer maxSlotsByLinks;
+    private transient int freeBands[]; // Buffer of the free spectrum bands of a link
 
     /**
      * Creates a new instance of Measurement
@@ -83,9 +84,13 @@ public class SpectrumUtilizationNew extends Measurement {
             Double luAt = utilizationPerLink.get(l.getName());
             utilizationPerLink.put(l.getName(),luAt+(us*deltaTime));//utilization per link
 
-            for(int[] fsb : l.getFreeSpectrumBands(0)){//parameter guardband=0 because we dont want to stablish a new circuit. ps: this don't interfer with the guard bands of stablished circuits.
+            if(freeBands == null){
+                freeBands = new int[maxSlotsByLinks + 1];
+            }
+            int numBands = l.getFreeSpectrumBands(0, freeBands);//parameter guardband=0 because we dont want to stablish a new circuit. ps: this don't interfer with the guard bands of stablished circuits.
+            for(int b = 0; b < numBands; b++){
                 int i;
-                for (i = fsb[0] - 1; i < fsb[1]; i++) {
+                for (i = freeBands[2 * b] - 1; i < freeBands[2 * b + 1]; i++) {
                     unusePerSlot[i]+=deltaTime;
                 }
             }
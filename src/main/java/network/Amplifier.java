@@ -197,8 +197,9 @@ public class Amplifier implements Serializable {
 	 * @return double - linear
 	 */
 	public double getFamp(double pin){
-		Famp = noiseFigureLinear * (1.0 + A1 - (A1 / (1.0 + (pin / A2))));
-		return Famp;
+		double famp = noiseFigureLinear * (1.0 + A1 - (A1 / (1.0 + (pin / A2))));
+		Famp = famp;
+		return famp;
 	}
 	
 	/**
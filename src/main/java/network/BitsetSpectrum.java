@@ -0,0 +1,478 @@
+package network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents the spectrum of a link with bitsets.
+ * The slot s is the bit s - 1 of the occupancy words, so the allocation, the release and the search
+ * of free bands are made a word (64 slots) at a time.
+ * The guard bands are kept in a mask with a counter per slot, because the guard bands of neighbouring
+ * circuits can share slots, and in tables indexed by the slot where they touch the free bands.
+ * The behaviour is the same of the Spectrum class.
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class BitsetSpectrum implements SpectrumInterface {
+
+	private int numOfSlots;
+	private double slotSpectrumBand;
+	private int usedSlots;
+
+	private long used[]; // Occupancy of the slots
+	private long guardMask[]; // Slots reserved for guard bands
+	private int guardCount[]; // Number of guard bands over each slot
+
+	private int downGuardBandSize[]; // Size of the down guard band of a circuit, indexed by the last slot of the guard band
+	private int upperGuardBandSize[]; // Size of the upper guard band of a circuit, indexed by the first slot of the guard band
+
+	/**
+	 * Creates a new instance of BitsetSpectrum
+	 *
+	 * @param numOfSlots int
+	 * @param slotSpectrumBand double
+	 */
+	public BitsetSpectrum(int numOfSlots, double slotSpectrumBand) {
+		this.numOfSlots = numOfSlots;
+		this.slotSpectrumBand = slotSpectrumBand;
+		this.usedSlots = 0;
+
+		int numWords = (numOfSlots + 63) >>> 6;
+		this.used = new long[numWords];
+		this.guardMask = new long[numWords];
+		this.guardCount = new int[numOfSlots + 2];
+		this.downGuardBandSize = new int[numOfSlots + 2];
+		this.upperGuardBandSize = new int[numOfSlots + 2];
+	}
+
+	@Override
+	public boolean useSpectrum(int spectrumBand[], int guardBand) throws Exception {
+
+		if (spectrumBand[0] > spectrumBand[1]) {
+			throw new Exception("Invalid spectrum band");
+		}
+
+		if (checksCollisionWithGuardBands(spectrumBand)) {
+			throw new Exception("Trying to use a slot reserved for a guard band. Spectrum band: " + spectrumBand[0] + " - " + spectrumBand[1]);
+		}
+
+		if (spectrumBand[0] < 1 || spectrumBand[1] > numOfSlots || anyBit(used, spectrumBand[0] - 1, spectrumBand[1] - 1)) {
+			return false;
+		}
+
+		addGuardBands(spectrumBand, guardBand);
+		setBits(used, spectrumBand[0] - 1, spectrumBand[1] - 1);
+		usedSlots = usedSlots + (spectrumBand[1] - spectrumBand[0] + 1);
+
+		return true;
+	}
+
+	@Override
+	public void freeSpectrum(int spectrumBand[], int guardBand) throws Exception {
+
+		if (spectrumBand[0] > spectrumBand[1]) {
+			throw new Exception("Invalid spectrum band");
+		}
+
+		int from = Math.max(spectrumBand[0], 1) - 1;
+		int to = Math.min(spectrumBand[1], numOfSlots) - 1;
+		if (from > to || !anyBit(used, from, to)) {
+			throw new Exception("Spectrum is already free. Spectrum band: " + spectrumBand[0] + " - " + spectrumBand[1]);
+		}
+
+		removeGuardBands(spectrumBand, guardBand);
+		clearBits(used, from, to);
+		usedSlots = usedSlots - (spectrumBand[1] - spectrumBand[0] + 1);
+	}
+
+	@Override
+	public boolean resizeSpectrum(int spectrumBand[], int newSpectrumBand[], int guardBand) throws Exception {
+
+		if (newSpectrumBand[0] > newSpectrumBand[1]) {
+			throw new Exception("Invalid spectrum band");
+		}
+
+		removeGuardBands(spectrumBand, guardBand);
+
+		if (checksCollisionWithGuardBands(newSpectrumBand)) {
+			addGuardBands(spectrumBand, guardBand);
+			throw new Exception("Trying to use a slot reserved for a guard band. Spectrum band: " + newSpectrumBand[0] + " - " + newSpectrumBand[1]);
+		}
+
+		// Slots of the new band out of the current band
+		int lowerFirst = newSpectrumBand[0];
+		int lowerLast = Math.min(newSpectrumBand[1], spectrumBand[0] - 1);
+		int upperFirst = Math.max(newSpectrumBand[0], spectrumBand[1] + 1);
+		int upperLast = newSpectrumBand[1];
+
+		if ((lowerFirst <= lowerLast && !isFree(lowerFirst, lowerLast)) || (upperFirst <= upperLast && !isFree(upperFirst, upperLast))) {
+			addGuardBands(spectrumBand, guardBand);
+			return false;
+		}
+
+		// Slots of the current band out of the new band
+		if (spectrumBand[0] < newSpectrumBand[0]) {
+			int last = Math.min(spectrumBand[1], newSpectrumBand[0] - 1);
+			clearBits(used, spectrumBand[0] - 1, last - 1);
+			usedSlots = usedSlots - (last - spectrumBand[0] + 1);
+		}
+		if (spectrumBand[1] > newSpectrumBand[1]) {
+			int first = Math.max(spectrumBand[0], newSpectrumBand[1] + 1);
+			clearBits(used, first - 1, spectrumBand[1] - 1);
+			usedSlots = usedSlots - (spectrumBand[1] - first + 1);
+		}
+
+		if (lowerFirst <= lowerLast) {
+			setBits(used, lowerFirst - 1, lowerLast - 1);
+			usedSlots = usedSlots + (lowerLast - lowerFirst + 1);
+		}
+		if (upperFirst <= upperLast) {
+			setBits(used, upperFirst - 1, upperLast - 1);
+			usedSlots = usedSlots + (upperLast - upperFirst + 1);
+		}
+
+		addGuardBands(newSpectrumBand, guardBand);
+
+		return true;
+	}
+
+	/**
+	 * Checks whether all slots of the interval [first, last] exist and are free
+	 *
+	 * @param first int
+	 * @param last int
+	 * @return boolean
+	 */
+	private boolean isFree(int first, int last) {
+		return first >= 1 && last <= numOfSlots && !anyBit(used, first - 1, last - 1);
+	}
+
+	/**
+	 * Add the upper and down guard bands of a spectrum band
+	 *
+	 * @param spectrumBand int[]
+	 * @param guardBand int
+	 */
+	private void addGuardBands(int spectrumBand[], int guardBand) {
+		if (guardBand <= 0) {
+			return;
+		}
+
+		if (spectrumBand[0] != 1) { // The band does not start on the first slot
+			int first = Math.max(spectrumBand[0] - guardBand, 1);
+			int last = spectrumBand[0] - 1;
+			downGuardBandSize[last] = last - first + 1;
+			reserveGuardSlots(first, last);
+		}
+
+		if (spectrumBand[1] != numOfSlots) { // The band does not end on the last slot
+			int first = spectrumBand[1] + 1;
+			int last = Math.min(spectrumBand[1] + guardBand, numOfSlots);
+			upperGuardBandSize[first] = last - first + 1;
+			reserveGuardSlots(first, last);
+		}
+	}
+
+	/**
+	 * Remove the upper and down guard bands of a spectrum band
+	 *
+	 * @param spectrumBand int[]
+	 * @param guardBand int
+	 */
+	private void removeGuardBands(int spectrumBand[], int guardBand) {
+		if (guardBand <= 0) {
+			return;
+		}
+
+		if (spectrumBand[0] != 1) {
+			int last = spectrumBand[0] - 1;
+			int size = downGuardBandSize[last];
+			if (size > 0) {
+				downGuardBandSize[last] = 0;
+				releaseGuardSlots(last - size + 1, last);
+			}
+		}
+
+		if (spectrumBand[1] != numOfSlots) {
+			int first = spectrumBand[1] + 1;
+			int size = upperGuardBandSize[first];
+			if (size > 0) {
+				upperGuardBandSize[first] = 0;
+				releaseGuardSlots(first, first + size - 1);
+			}
+		}
+	}
+
+	/**
+	 * Increments the guard band counter of the slots of an interval
+	 *
+	 * @param first int
+	 * @param last int
+	 */
+	private void reserveGuardSlots(int first, int last) {
+		for (int s = first; s <= last; s++) {
+			if (guardCount[s]++ == 0) {
+				guardMask[(s - 1) >>> 6] |= 1L << (s - 1);
+			}
+		}
+	}
+
+	/**
+	 * Decrements the guard band counter of the slots of an interval
+	 *
+	 * @param first int
+	 * @param last int
+	 */
+	private void releaseGuardSlots(int first, int last) {
+		for (int s = first; s <= last; s++) {
+			if (--guardCount[s] == 0) {
+				guardMask[(s - 1) >>> 6] &= ~(1L << (s - 1));
+			}
+		}
+	}
+
+	@Override
+	public boolean checksCollisionWithGuardBands(int spectrumBand[]) {
+		int from = Math.max(spectrumBand[0], 1) - 1;
+		int to = Math.min(spectrumBand[1], numOfSlots) - 1;
+		if (from > to) {
+			return false;
+		}
+		return anyBit(guardMask, from, to);
+	}
+
+	@Override
+	public List<int[]> getFreeSpectrumBands() {
+		ArrayList<int[]> res = new ArrayList<>();
+
+		int i = nextClearBit(0);
+		while (i < numOfSlots) {
+			int j = nextSetBit(i);
+			res.add(new int[]{i + 1, j});
+			i = nextClearBit(j);
+		}
+
+		return res;
+	}
+
+	@Override
+	public List<int[]> getFreeSpectrumBands(int guardBand) {
+		ArrayList<int[]> res = new ArrayList<>();
+
+		freeSpectrumBands(guardBand, (firstSlot, lastSlot) -> res.add(new int[]{firstSlot, lastSlot}), null);
+
+		return res;
+	}
+
+	@Override
+	public void forEachFreeSpectrumBand(int guardBand, FreeBandConsumer consumer) {
+		freeSpectrumBands(guardBand, consumer, null);
+	}
+
+	@Override
+	public int getFreeSpectrumBands(int guardBand, int bands[]) {
+		return freeSpectrumBands(guardBand, null, bands);
+	}
+
+	/**
+	 * Computes the free spectrum bands checking the guard bands and guard band required for the establishment of a given circuit.
+	 * Each band is passed to the consumer or, if there is no consumer, stored in the buffer.
+	 *
+	 * @param guardBand int
+	 * @param consumer FreeBandConsumer
+	 * @param bands int[]
+	 * @return int - Number of free spectrum bands
+	 */
+	private int freeSpectrumBands(int guardBand, FreeBandConsumer consumer, int bands[]) {
+		int numBands = 0;
+
+		int i = nextClearBit(0);
+		while (i < numOfSlots) {
+			int j = nextSetBit(i);
+			int first = i + 1; // Free spectrum band [first, last]
+			int last = j;
+			i = nextClearBit(j);
+
+			int numDownGB = 0;
+			int numUpperGB = 0;
+
+			int size = upperGuardBandSize[first]; // Upper guard bands of the circuits are down guard bands for free spectrum bands
+			if (size > 0) {
+				if (first + size - 1 == last) { // The free spectrum band is a guard band
+					continue;
+				}
+				numDownGB = size;
+			}
+
+			size = downGuardBandSize[last]; // Down guard bands of the circuits are upper guard bands for free spectrum bands
+			if (size > 0) {
+				if (last - size + 1 == first) { // The free spectrum band is a guard band
+					continue;
+				}
+				numUpperGB = size;
+			}
+
+			if (guardBand > numDownGB) { // Tries to leave enough slots to respect the guard band required by the circuit
+				numDownGB = guardBand;
+			}
+			if (guardBand > numUpperGB) {
+				numUpperGB = guardBand;
+			}
+			if (first == 1) {
+				numDownGB = 0;
+			}
+			if (last == numOfSlots) {
+				numUpperGB = 0;
+			}
+
+			if ((last - first + 1) - (numDownGB + numUpperGB) > 0) {
+				if (consumer != null) {
+					consumer.accept(first + numDownGB, last - numUpperGB);
+				} else {
+					bands[2 * numBands] = first + numDownGB;
+					bands[2 * numBands + 1] = last - numUpperGB;
+				}
+				numBands++;
+			}
+		}
+
+		return numBands;
+	}
+
+	/**
+	 * Returns the index of the first free bit from a given index, or the number of slots if there is none
+	 *
+	 * @param from int
+	 * @return int
+	 */
+	private int nextClearBit(int from) {
+		if (from >= numOfSlots) {
+			return numOfSlots;
+		}
+		int w = from >>> 6;
+		long word = ~used[w] & (-1L << from);
+		while (word == 0) {
+			if (++w == used.length) {
+				return numOfSlots;
+			}
+			word = ~used[w];
+		}
+		return Math.min((w << 6) + Long.numberOfTrailingZeros(word), numOfSlots);
+	}
+
+	/**
+	 * Returns the index of the first used bit from a given index, or the number of slots if there is none
+	 *
+	 * @param from int
+	 * @return int
+	 */
+	private int nextSetBit(int from) {
+		if (from >= numOfSlots) {
+			return numOfSlots;
+		}
+		int w = from >>> 6;
+		long word = used[w] & (-1L << from);
+		while (word == 0) {
+			if (++w == used.length) {
+				return numOfSlots;
+			}
+			word = used[w];
+		}
+		return Math.min((w << 6) + Long.numberOfTrailingZeros(word), numOfSlots);
+	}
+
+	/**
+	 * Checks whether any bit of the interval [from, to] is set
+	 *
+	 * @param bits long[]
+	 * @param from int
+	 * @param to int
+	 * @return boolean
+	 */
+	private static boolean anyBit(long bits[], int from, int to) {
+		int w0 = from >>> 6;
+		int w1 = to >>> 6;
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> (63 - (to & 63));
+		if (w0 == w1) {
+			return (bits[w0] & firstMask & lastMask) != 0;
+		}
+		if ((bits[w0] & firstMask) != 0) {
+			return true;
+		}
+		for (int w = w0 + 1; w < w1; w++) {
+			if (bits[w] != 0) {
+				return true;
+			}
+		}
+		return (bits[w1] & lastMask) != 0;
+	}
+
+	/**
+	 * Sets the bits of the interval [from, to]
+	 *
+	 * @param bits long[]
+	 * @param from int
+	 * @param to int
+	 */
+	private static void setBits(long bits[], int from, int to) {
+		int w0 = from >>> 6;
+		int w1 = to >>> 6;
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> (63 - (to & 63));
+		if (w0 == w1) {
+			bits[w0] |= firstMask & lastMask;
+			return;
+		}
+		bits[w0] |= firstMask;
+		for (int w = w0 + 1; w < w1; w++) {
+			bits[w] = -1L;
+		}
+		bits[w1] |= lastMask;
+	}
+
+	/**
+	 * Clears the bits of the interval [from, to]
+	 *
+	 * @param bits long[]
+	 * @param from int
+	 * @param to int
+	 */
+	private static void clearBits(long bits[], int from, int to) {
+		int w0 = from >>> 6;
+		int w1 = to >>> 6;
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> (63 - (to & 63));
+		if (w0 == w1) {
+			bits[w0] &= ~(firstMask & lastMask);
+			return;
+		}
+		bits[w0] &= ~firstMask;
+		for (int w = w0 + 1; w < w1; w++) {
+			bits[w] = 0L;
+		}
+		bits[w1] &= ~lastMask;
+	}
+
+	@Override
+	public double utilization() {
+		return ((double) usedSlots) / ((double) numOfSlots);
+	}
+
+	@Override
+	public double getSlotSpectrumBand() {
+		return slotSpectrumBand;
+	}
+
+	@Override
+	public int getNumOfSlots() {
+		return numOfSlots;
+	}
+
+	@Override
+	public int getUsedSlots() {
+		return usedSlots;
+	}
+
+}
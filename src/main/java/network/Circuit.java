@@ -40,6 +40,8 @@ public class Circuit implements Comparable<Object>, Serializable {
 	
 	protected double launchPowerLinear;
 	protected int guardBand;
+	
+	protected transient PhysicalLayer physicalLayer; // Notified when the parameters of the active circuit used in the QoT change
 
     /**
      * Instantiates a circuit with the list of requests answered by it in empty
@@ -152,6 +154,7 @@ public class Circuit implements Comparable<Object>, Serializable {
     		throw new UnsupportedOperationException();
 		}
         spectrumAssigned = sa;
+        notifyChange();
     }
 
     /**
@@ -171,6 +174,7 @@ public class Circuit implements Comparable<Object>, Serializable {
     public void setModulation(Modulation modulation) {
         this.modulation = modulation;
         setGuardBand(modulation.getGuardBand());
+        notifyChange();
     }
 
     /**
@@ -180,6 +184,7 @@ public class Circuit implements Comparable<Object>, Serializable {
      */
     public void addRequest(RequestForConnection rfc) {
         requests.add(rfc);
+        notifyChange();
     }
 
     /**
@@ -189,6 +194,7 @@ public class Circuit implements Comparable<Object>, Serializable {
      */
     public void removeRequest(RequestForConnection rfc) {
         requests.remove(rfc);
+        notifyChange();
     }
 
     /**
@@ -391,6 +397,7 @@ public class Circuit implements Comparable<Object>, Serializable {
 	 */
 	public void setLaunchPowerLinear(double launchPowerLinear) {
 		this.launchPowerLinear = launchPowerLinear;
+		notifyChange();
 	}
 	
 	/**
@@ -411,6 +418,24 @@ public class Circuit implements Comparable<Object>, Serializable {
 		this.guardBand = guardBand;
 	}
 
+	/**
+	 * Sets the physical layer that keeps the interference of the circuit while it is active
+	 * 
+	 * @param physicalLayer PhysicalLayer - Null when the circuit is released
+	 */
+	public void setPhysicalLayer(PhysicalLayer physicalLayer) {
+		this.physicalLayer = physicalLayer;
+	}
+	
+	/**
+	 * Informs the physical layer that the spectrum, modulation, requests or launch power of the circuit changed
+	 */
+	protected void notifyChange() {
+		if(physicalLayer != null){
+			physicalLayer.circuitChanged(this);
+		}
+	}
+
 	public String toString(){
 		return "(s:" + pair.getSource().getName() + " d:" + pair.getDestination().getName() + ")";
 	}
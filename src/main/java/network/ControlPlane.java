@@ -2,9 +2,9 @@ package network;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import grmlsa.GRMLSA;
 import grmlsa.Route;
@@ -27,6 +27,9 @@ import util.IntersectionFreeSpectrum;
  */
 public class ControlPlane implements Serializable {
 
+    // Minimum number of circuits for the QoT of the other circuits to be computed in parallel
+    public static final int MIN_CIRCUITS_FOR_PARALLEL_QOT = 64;
+
     protected int rsaType;
     protected RoutingAlgorithmInterface routing;
     protected SpectrumAssignmentAlgorithmInterface spectrumAssignment;
@@ -39,10 +42,9 @@ public class ControlPlane implements Serializable {
     protected Mesh mesh;
     
     /**
-     * The first key represents the source node.
-     * The second key represents the destination node.
+     * Active circuits by the ids of the source and destination nodes
      */
-    protected HashMap<String, HashMap<String, List<Circuit>>> activeCircuits;
+    protected PairTable<List<Circuit>> activeCircuits;
     
     private HashSet<Circuit> connectionList;
 
@@ -58,7 +60,7 @@ public class ControlPlane implements Serializable {
      * @param modulationSelection ModulationSelectionAlgorithmInterface
      */
     public ControlPlane(Mesh mesh, int rmlsaType, TrafficGroomingAlgorithmInterface trafficGroomingAlgorithm, IntegratedRMLSAAlgorithmInterface integratedRMLSAAlgorithm, RoutingAlgorithmInterface routingAlgorithm, SpectrumAssignmentAlgorithmInterface spectrumAssignmentAlgorithm, ModulationSelectionAlgorithmInterface modulationSelection) {
-        this.activeCircuits = new HashMap<>();
+        this.activeCircuits = new PairTable<>(mesh.getNodeList().size());
         this.connectionList = new HashSet<>();
         
         this.rsaType = rmlsaType;
@@ -119,14 +121,11 @@ public class ControlPlane implements Serializable {
         
         // Initialize the active circuit list
         for (Node node1 : mesh.getNodeList()) {
-            HashMap<String, List<Circuit>> hmAux = new HashMap<>();
-            
             for (Node node2 : mesh.getNodeList()) {
             	if(!node1.equals(node2)){
-	                hmAux.put(node2.getName(), new ArrayList<>());
+	                activeCircuits.put(node1.getId(), node2.getId(), new ArrayList<>());
             	}
             }
-            activeCircuits.put(node1.getName(), hmAux);
         }
     }
 
@@ -389,12 +388,10 @@ public class ControlPlane implements Serializable {
         newSpecAssigAt[0] = bottomBand[0];
         newSpecAssigAt[1] = upperBand[1];
         
-        // Releasing the spectrum and guard bands already allocated
-        releaseSpectrum(circuit, specAssigAt, circuit.getRoute().getLinkList(), circuit.getGuardBand());
-        
-        // Try to expand circuit
+        // Try to expand circuit, only the slots of the expansion and the guard bands are changed in the links
+        SpectrumTransaction transaction = new SpectrumTransaction(circuit.getRoute().getLinkList(), specAssigAt, newSpecAssigAt, circuit.getGuardBand());
         circuit.setSpectrumAssigned(newSpecAssigAt);
-        if(!allocateSpectrum(circuit, newSpecAssigAt, circuit.getRoute().getLinkList(), circuit.getGuardBand())){
+        if(!transaction.apply()){
             throw new Exception("Bad RMLSA. Spectrum cant be allocated.");
         }
         
@@ -403,19 +400,15 @@ public class ControlPlane implements Serializable {
         
         if(!QoT){
         	
-        	// QoT was not acceptable after expansion, releasing the spectrum
-        	releaseSpectrum(circuit, newSpecAssigAt, circuit.getRoute().getLinkList(), circuit.getGuardBand());
-        	
-        	// Reallocating the spectrum and guard bands without the expansion
+        	// QoT was not acceptable after expansion, restoring the spectrum and guard bands without the expansion
+        	transaction.rollback();
         	circuit.setSpectrumAssigned(specAssigAt);
-        	if(!allocateSpectrum(circuit, specAssigAt, circuit.getRoute().getLinkList(), circuit.getGuardBand())){
-                throw new Exception("Bad RMLSA. Spectrum cant be allocated.");
-            }
         	
         	// Recalculates the QoT and OSNR of the circuit
             computeQualityOfTransmission(circuit, null, false);
             
         }else{
+            transaction.commit();
             this.updateNetworkPowerConsumption();
         }
         
@@ -447,14 +440,13 @@ public class ControlPlane implements Serializable {
         newSpecAssign[0] = bottomBand[1] + 1;
         newSpecAssign[1] = upperBand[0] - 1;
         
-        // Releasing the spectrum and guard bands already allocated
-        releaseSpectrum(circuit, circuit.getSpectrumAssigned(), circuit.getRoute().getLinkList(), circuit.getGuardBand());
-        
-        // Reallocates the spectrum and guard bands after retraction
+        // Releases the retracted slots and moves the guard bands
+        SpectrumTransaction transaction = new SpectrumTransaction(circuit.getRoute().getLinkList(), circuit.getSpectrumAssigned(), newSpecAssign, circuit.getGuardBand());
         circuit.setSpectrumAssigned(newSpecAssign);
-        if(!allocateSpectrum(circuit, newSpecAssign, circuit.getRoute().getLinkList(), circuit.getGuardBand())){
+        if(!transaction.apply()){
             throw new Exception("Bad RMLSA. Spectrum cant be allocated.");
         }
+        transaction.commit();
         
         // Recalculates the QoT and OSNR of the circuit
         computeQualityOfTransmission(circuit, null, false);
@@ -470,7 +462,18 @@ public class ControlPlane implements Serializable {
      * @return List<Circuit>
      */
     public List<Circuit> searchForActiveCircuits(String source, String destination) {
-        return this.activeCircuits.get(source).get(destination);
+        return searchForActiveCircuits(mesh.searchNode(source), mesh.searchNode(destination));
+    }
+    
+    /**
+     * To find active circuits on the network with specified source and destination nodes
+     *
+     * @param source Node
+     * @param destination Node
+     * @return List<Circuit>
+     */
+    public List<Circuit> searchForActiveCircuits(Node source, Node destination) {
+        return this.activeCircuits.get(source, destination);
     }
     
     /**
@@ -481,8 +484,11 @@ public class ControlPlane implements Serializable {
      */
     public List<Circuit> searchForActiveCircuits(String source){
         List<Circuit> res = new ArrayList<>();
-        for(List<Circuit> lc : activeCircuits.get(source).values()){
-            res.addAll(lc);
+        Node s = mesh.searchNode(source);
+        for(Node d : mesh.getNodeList()){
+            if(!s.equals(d)){
+                res.addAll(activeCircuits.get(s, d));
+            }
         }
         return res;
     }
@@ -494,10 +500,8 @@ public class ControlPlane implements Serializable {
      */
     public List<Circuit> searchForActiveCircuits(){
         List<Circuit> res = new ArrayList<>();
-        for(HashMap<String, List<Circuit>> hA : activeCircuits.values()){
-            for(List<Circuit> lc : hA.values()){
-                res.addAll(lc);
-            }
+        for(Node s : mesh.getNodeList()){
+            res.addAll(searchForActiveCircuits(s.getName()));
         }
         return res;
     }
@@ -545,14 +549,23 @@ public class ControlPlane implements Serializable {
      * @return boolean - True, if QoT is acceptable, or false, otherwise
      */
     public boolean computeQualityOfTransmission(Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
-    	double SNR = mesh.getPhysicalLayer().computeSNRSegment(circuit, circuit.getRoute(), 0, circuit.getRoute().getNodeList().size() - 1, circuit.getModulation(), circuit.getSpectrumAssigned(), testCircuit, addTestCircuit);
-		double SNRdB = PhysicalLayer.ratioForDB(SNR);
-		circuit.setSNR(SNRdB);
-		
-		boolean QoT = mesh.getPhysicalLayer().isAdmissible(circuit.getModulation(), SNRdB, SNR);
-		circuit.setQoT(QoT);
+    	QoTEvaluation evaluation = evaluateQualityOfTransmission(circuit, testCircuit, addTestCircuit);
+    	evaluation.commit(circuit);
 		
-		return QoT;
+		return evaluation.isQoT();
+    }
+    
+    /**
+     * This method evaluates the quality of the transmission of the circuit without changing the circuit
+     * The circuit in question has already allocated the network resources
+     * 
+     * @param circuit Circuit
+     * @param testCircuit Circuit
+     * @param addTestCircuit boolean - To add the test circuit to the circuit list
+     * @return QoTEvaluation
+     */
+    public QoTEvaluation evaluateQualityOfTransmission(Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
+    	return mesh.getPhysicalLayer().evaluateModulation(circuit, circuit.getRoute(), circuit.getModulation(), circuit.getSpectrumAssigned(), testCircuit, addTestCircuit);
     }
     
     /**
@@ -562,99 +575,110 @@ public class ControlPlane implements Serializable {
      * @return boolean - True, if it did not affect another circuit, or false otherwise
      */
     public boolean computeQoTForOther(Circuit circuit){
-    	HashSet<Circuit> circuits = new HashSet<Circuit>(); // Circuit list for test
-    	HashMap<Circuit, Double> circuitsSNR = new HashMap<Circuit, Double>(); // To guard the SNR of the test list circuits
-    	HashMap<Circuit, Boolean> circuitsQoT = new HashMap<Circuit, Boolean>(); // To guard the QoT of the test list circuits
+    	List<Circuit> circuits = getCircuitsSharingLinks(circuit); // Circuit list for test
 		
-    	// Search for all circuits that have links in common with the circuit under evaluation
-		Route route = circuit.getRoute();
-		for (Link link : route.getLinkList()) {
+		// Evaluates the QoT of circuits, stopping at the first circuit with unacceptable QoT
+		int numCircuits = circuits.size();
+		double circuitsSNR[] = new double[numCircuits];
+		boolean QoT = evaluateQoTForOther(circuit, circuits, circuitsSNR);
+		
+		if (QoT) {
 			
-			// Picks up the active circuits that use the link
-			HashSet<Circuit> circuitsTemp = link.getCircuitList();
-            for (Circuit circuitTemp : circuitsTemp) {
-            	
-            	// If the circuit is different from the circuit under evaluation and is not in the circuit list for test
-                if (!circuit.equals(circuitTemp) && !circuits.contains(circuitTemp)) {
-                    circuits.add(circuitTemp);
-                }
-            }
+			// All circuits have acceptable QoT with the circuit in evaluation
+			for (int i = 0; i < numCircuits; i++) {
+				circuits.get(i).setSNR(circuitsSNR[i]);
+				circuits.get(i).setQoT(true);
+			}
+		}
+		
+		return QoT;
+    }
+    
+    /**
+     * This method evaluates the transmission quality of the circuits with the circuit in evaluation, without changing them
+     * The evaluation stops at the first circuit with unacceptable QoT, so the SNR values are complete only if it returns true
+     * 
+     * @param circuit Circuit - Circuit in evaluation
+     * @param circuits List<Circuit> - Active circuits that share links with the circuit in evaluation
+     * @param circuitsSNR double[] - Receives the SNR of each circuit, in dB
+     * @return boolean - True, if all circuits have acceptable QoT, or false otherwise
+     */
+    public boolean evaluateQoTForOther(Circuit circuit, List<Circuit> circuits, double circuitsSNR[]){
+    	int numCircuits = circuits.size();
+		
+		// The computations in parallel only read the state of the physical layer
+		mesh.getPhysicalLayer().updateChangedCircuits();
+		
+		if (numCircuits >= MIN_CIRCUITS_FOR_PARALLEL_QOT) {
+			return IntStream.range(0, numCircuits).parallel().allMatch(i -> {
+				QoTEvaluation evaluation = evaluateQualityOfTransmission(circuits.get(i), circuit, true);
+				circuitsSNR[i] = evaluation.getSNR();
+				return evaluation.isQoT();
+			});
+		}
+		
+		for (int i = 0; i < numCircuits; i++) {
+			QoTEvaluation evaluation = evaluateQualityOfTransmission(circuits.get(i), circuit, true);
+			circuitsSNR[i] = evaluation.getSNR();
+			if (!evaluation.isQoT()) {
+				return false;
+			}
 		}
 		
-		// Tests the QoT of circuits
-        for (Circuit circuitTemp : circuits) {
-        	
-        	// Stores the SNR and QoT values
-        	circuitsSNR.put(circuitTemp, circuitTemp.getSNR());
-            circuitsQoT.put(circuitTemp, circuitTemp.isQoT());
-            
-        	// Recalculates the QoT and SNR of the circuit
-            boolean QoT = computeQualityOfTransmission(circuitTemp, circuit, true);
-            
-            if (!QoT) {
-            	
-            	// Returns the SNR and QoT values of circuits before the establishment of the circuit in evaluation
-            	for (Circuit circuitAux : circuitsSNR.keySet()) {
-            		circuitAux.setSNR(circuitsSNR.get(circuitAux));
-            		circuitAux.setQoT(circuitsQoT.get(circuitAux));
-            	}
-            	
-                return false;
-            }
-        }
-        
 		return true;
     }
     
     /**
-     * Calculates the amount of SNR impacted by a circuit in other circuits
+     * Returns the active circuits that have links in common with the circuit, without the circuit
      * 
      * @param circuit Circuit
-     * @return double - SNR impact
+     * @return List<Circuit>
      */
-    public double computesImpactOnSNROther(Circuit circuit){
-    	HashSet<Circuit> circuits = new HashSet<Circuit>(); // Circuit list for test
-    	//TreeSet<Circuit> circuits = new TreeSet<Circuit>(); // Circuit list for test
-    	HashMap<Circuit, Double> circuitsSNR = new HashMap<Circuit, Double>(); // To guard the SNR of the test list circuits
-    	HashMap<Circuit, Boolean> circuitsQoT = new HashMap<Circuit, Boolean>(); // To guard the QoT of the test list circuits
-
-    	// Search for all circuits that have links in common with the circuit under evaluation
+    public List<Circuit> getCircuitsSharingLinks(Circuit circuit){
+    	ArrayList<Circuit> circuits = new ArrayList<Circuit>();
+    	HashSet<Circuit> circuitsFound = new HashSet<Circuit>(); // Circuits already in the list, for routes with more than one link
+		
 		Route route = circuit.getRoute();
+		boolean firstLink = true;
 		for (Link link : route.getLinkList()) {
 			
 			// Picks up the active circuits that use the link
 			HashSet<Circuit> circuitsTemp = link.getCircuitList();
             for (Circuit circuitTemp : circuitsTemp) {
             	
-            	// If the circuit is different from the circuit under evaluation and is not in the circuit list for test
-                if (!circuit.equals(circuitTemp) && !circuits.contains(circuitTemp)) {
+            	// If the circuit is different from the circuit under evaluation and is not in the circuit list
+                if (!circuit.equals(circuitTemp) && (firstLink || !circuitsFound.contains(circuitTemp))) {
                     circuits.add(circuitTemp);
+                    if (route.getLinkList().size() > 1) {
+                    	circuitsFound.add(circuitTemp);
+                    }
                 }
             }
+            firstLink = false;
 		}
 		
+		return circuits;
+    }
+    
+    /**
+     * Calculates the amount of SNR impacted by a circuit in other circuits
+     * 
+     * @param circuit Circuit
+     * @return double - SNR impact
+     */
+    public double computesImpactOnSNROther(Circuit circuit){
+    	List<Circuit> circuits = getCircuitsSharingLinks(circuit); // Circuit list for test
+		
 		double SNRimpact = 0.0;
 		double SNRtemp = 0.0;
 		double SNRtemp2 = 0.0;
 		double SNRdif = 0.0;
 		
         for (Circuit circuitTemp : circuits) {
-        	
-        	// Stores the SNR and QoT values
-        	circuitsSNR.put(circuitTemp, circuitTemp.getSNR());
-            circuitsQoT.put(circuitTemp, circuitTemp.isQoT());
             SNRtemp2 = circuitTemp.getSNR();
             
         	// Computes the SNR of the circuitTemp without considering the circuit
-            computeQualityOfTransmission(circuitTemp, circuit, false);
-            SNRtemp = circuitTemp.getSNR();
-            
-            // Computes the SNR of the circuitTemp considering the circuit
-        	//computeQualityOfTransmission(circuitTemp, circuit, true);
-        	//double SNRtemp3 = circuitTemp.getSNR();
-            
-            circuitTemp.setSNR(circuitsSNR.get(circuitTemp));
-            circuitTemp.setQoT(circuitsQoT.get(circuitTemp));
+            SNRtemp = evaluateQualityOfTransmission(circuitTemp, circuit, false).getSNR();
             
         	SNRdif = SNRtemp - SNRtemp2;
         	if(SNRdif < 0.0) {
@@ -693,7 +717,7 @@ public class ControlPlane implements Serializable {
 	 * @param circuit Circuit
 	 */
 	public void addConnection(Circuit circuit){
-		activeCircuits.get(circuit.getSource().getName()).get(circuit.getDestination().getName()).add(circuit);
+		activeCircuits.get(circuit.getSource(), circuit.getDestination()).add(circuit);
 		
 		if(!connectionList.contains(circuit)){
 			connectionList.add(circuit);
@@ -702,6 +726,8 @@ public class ControlPlane implements Serializable {
 	    for (int i = 0; i < circuit.getRoute().getLinkList().size(); i++) {
 	    	circuit.getRoute().getLinkList().get(i).addCircuit(circuit);
 	    }
+	    
+	    mesh.getPhysicalLayer().addCircuit(circuit);
 	}
 	
 	/**
@@ -710,7 +736,7 @@ public class ControlPlane implements Serializable {
 	 * @param circuit Circuit
 	 */
 	public void removeConnection(Circuit circuit){
-		activeCircuits.get(circuit.getSource().getName()).get(circuit.getDestination().getName()).remove(circuit);
+		activeCircuits.get(circuit.getSource(), circuit.getDestination()).remove(circuit);
 		
 		if(connectionList.contains(circuit)){
 			connectionList.remove(circuit);
@@ -719,6 +745,8 @@ public class ControlPlane implements Serializable {
 	    for (int i = 0; i < circuit.getRoute().getLinkList().size(); i++) {
 	    	circuit.getRoute().getLinkList().get(i).removeCircuit(circuit);
 	    }
+	    
+	    mesh.getPhysicalLayer().removeCircuit(circuit);
 	}
 	
 	/**
@@ -0,0 +1,19 @@
+package network;
+
+/**
+ * Interface that receives the free spectrum bands of a spectrum, one at a time and in increasing order of slots.
+ * It allows to visit the free bands without creating lists or arrays for them.
+ *
+ * @author Iallen
+ */
+public interface FreeBandConsumer {
+
+	/**
+	 * Receives a free spectrum band
+	 *
+	 * @param firstSlot int
+	 * @param lastSlot int
+	 */
+	public void accept(int firstSlot, int lastSlot);
+
+}
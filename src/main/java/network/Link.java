@@ -1,9 +1,12 @@
 package network;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 
+import util.FreeSlotsSegmentTree;
+
 
 /**
  * This class represents a network link
@@ -12,14 +15,31 @@ import java.util.List;
  */
 public class Link implements Serializable {
 
+    // Constants for indication of the spectrum model
+    public static final String SPECTRUM_TREESET = "treeset";
+    public static final String SPECTRUM_BITSET = "bitset";
+    public static final String SPECTRUM_VALIDATION = "validation"; // Bitset model validated against the treeset model
+
     private Oxc source;
     private Oxc destination;
+    private int id = -1; // Dense index of the link in the mesh
     private double cost;
-    private Spectrum spectrum;
+    private SpectrumInterface spectrum;
     private double distance;
     
     private HashSet<Circuit> circuitList;
 
+    // Counter of modifications of the spectrum, used to validate the caches of free spectrum
+    private long spectrumVersion;
+
+    // Cache of the bitmap of free slots for a given guard band
+    private transient long freeBitmap[];
+    private transient int freeBitmapGuardBand;
+    private transient long freeBitmapVersion;
+    private transient FreeSlotsSegmentTree freeSlotsTree;
+    private transient int freeSlotsTreeGuardBand;
+    private transient long freeSlotsTreeVersion;
+
     /**
      * Creates a new instance of Link.
      *
@@ -30,14 +50,52 @@ public class Link implements Serializable {
      * @param distance      double New Value of distance
      */
     public Link(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance) {
+        this(s, d, numberOfSlots, spectrumBand, distance, SPECTRUM_TREESET);
+    }
+
+    /**
+     * Creates a new instance of Link with a given spectrum model.
+     *
+     * @param s             Oxc New value of property source.
+     * @param d             Oxc New value of property destination.
+     * @param numberOfSlots int New value of property number of slots
+     * @param spectrumBand  double New value of property spectrum band
+     * @param distance      double New Value of distance
+     * @param spectrumModel String Model of spectrum occupancy
+     */
+    public Link(Oxc s, Oxc d, int numberOfSlots, double spectrumBand, double distance, String spectrumModel) {
         this.source = s;
         this.destination = d;
-        this.spectrum = new Spectrum(numberOfSlots, spectrumBand);
+        this.spectrum = instantiateSpectrum(spectrumModel, numberOfSlots, spectrumBand);
         this.distance = distance;
         
         this.circuitList = new HashSet<Circuit>();
     }
 
+    /**
+     * Instance the spectrum model of the link
+     *
+     * @param spectrumModel String
+     * @param numberOfSlots int
+     * @param spectrumBand double
+     * @return SpectrumInterface
+     */
+    public static SpectrumInterface instantiateSpectrum(String spectrumModel, int numberOfSlots, double spectrumBand) {
+        if(spectrumModel == null) spectrumModel = "";
+
+        switch (spectrumModel) {
+            case "":
+            case SPECTRUM_TREESET:
+                return new Spectrum(numberOfSlots, spectrumBand);
+            case SPECTRUM_BITSET:
+                return new BitsetSpectrum(numberOfSlots, spectrumBand);
+            case SPECTRUM_VALIDATION:
+                return new SpectrumValidator(new Spectrum(numberOfSlots, spectrumBand), new BitsetSpectrum(numberOfSlots, spectrumBand));
+            default:
+                throw new IllegalArgumentException("Unknown spectrum model: " + spectrumModel);
+        }
+    }
+
     /**
      * Is node x destination of this link.
      *
@@ -60,6 +118,7 @@ public class Link implements Serializable {
      * @return boolean
      */
     public boolean useSpectrum(int interval[], int guardBand) throws Exception {
+        spectrumVersion++;
         return spectrum.useSpectrum(interval, guardBand);
     }
 
@@ -69,9 +128,52 @@ public class Link implements Serializable {
      * @param spectrumBand int[]
      */
     public void liberateSpectrum(int spectrumBand[], int guardBand) throws Exception {
+        spectrumVersion++;
         spectrum.freeSpectrum(spectrumBand, guardBand);
     }
 
+    /**
+     * Changes the spectrum band used by a circuit, modifying only the slots that are in one band and not in the other
+     *
+     * @param spectrumBand int[] - Band in use
+     * @param newSpectrumBand int[] - Band to use
+     * @param guardBand int
+     * @return boolean - False if the new slots are not free, in which case nothing is changed
+     * @throws Exception
+     */
+    public boolean resizeSpectrum(int spectrumBand[], int newSpectrumBand[], int guardBand) throws Exception {
+        spectrumVersion++;
+        return spectrum.resizeSpectrum(spectrumBand, newSpectrumBand, guardBand);
+    }
+
+    /**
+     * Returns the counter of modifications of the spectrum of the link.
+     * Any use or release of spectrum changes the value returned.
+     *
+     * @return long
+     */
+    public long getSpectrumVersion() {
+        return spectrumVersion;
+    }
+
+    /**
+     * Returns the id of the link, its index in the mesh, or -1 if the link is not in a mesh
+     *
+     * @return int
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of the link
+     *
+     * @param id int
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Getter for property destination.
      *
@@ -152,6 +254,79 @@ public class Link implements Serializable {
     public List<int[]> getFreeSpectrumBands(int guardBand) {
         return spectrum.getFreeSpectrumBands(guardBand);
     }
+
+    /**
+     * Visits the spectrum bands available on the link without creating any object
+     *
+     * @param guardBand int
+     * @param consumer FreeBandConsumer
+     */
+    public void forEachFreeSpectrumBand(int guardBand, FreeBandConsumer consumer) {
+        spectrum.forEachFreeSpectrumBand(guardBand, consumer);
+    }
+
+    /**
+     * Fills a buffer with the spectrum bands available on the link.
+     * The band i is stored in the positions 2 * i and 2 * i + 1 and the buffer must have at least the number of slots plus one positions.
+     *
+     * @param guardBand int
+     * @param bands int[]
+     * @return int - Number of bands
+     */
+    public int getFreeSpectrumBands(int guardBand, int bands[]) {
+        return spectrum.getFreeSpectrumBands(guardBand, bands);
+    }
+
+    /**
+     * Returns the free spectrum bands of the link as a bitmap, where the slot s is the bit s - 1.
+     * The bitmap is cached until the next modification of the spectrum and must not be modified.
+     *
+     * @param guardBand int
+     * @return long[]
+     */
+    public long[] getFreeSpectrumBitmap(int guardBand) {
+        if (freeBitmap != null && freeBitmapVersion == spectrumVersion && freeBitmapGuardBand == guardBand) {
+            return freeBitmap;
+        }
+
+        long bitmap[] = freeBitmap;
+        if (bitmap == null) {
+            bitmap = new long[(spectrum.getNumOfSlots() + 63) >>> 6];
+        } else {
+            Arrays.fill(bitmap, 0L);
+        }
+        final long bits[] = bitmap;
+        spectrum.forEachFreeSpectrumBand(guardBand, (firstSlot, lastSlot) -> {
+            for (int s = firstSlot - 1; s < lastSlot; s++) {
+                bits[s >>> 6] |= 1L << s;
+            }
+        });
+
+        freeBitmap = bitmap;
+        freeBitmapGuardBand = guardBand;
+        freeBitmapVersion = spectrumVersion;
+        return bitmap;
+    }
+
+    /**
+     * Returns the segment tree of the free slots of the link for a given guard band.
+     * The tree is cached until the next modification of the spectrum.
+     *
+     * @param guardBand int
+     * @return FreeSlotsSegmentTree
+     */
+    public FreeSlotsSegmentTree getFreeSlotsTree(int guardBand) {
+        long bitmap[] = getFreeSpectrumBitmap(guardBand);
+        if (freeSlotsTree == null) {
+            freeSlotsTree = new FreeSlotsSegmentTree(spectrum.getNumOfSlots());
+        } else if (freeSlotsTreeVersion == spectrumVersion && freeSlotsTreeGuardBand == guardBand) {
+            return freeSlotsTree;
+        }
+        freeSlotsTree.build(bitmap);
+        freeSlotsTreeGuardBand = guardBand;
+        freeSlotsTreeVersion = spectrumVersion;
+        return freeSlotsTree;
+    }
     
     /**
      * Returns the bandwidth of a slot
@@ -0,0 +1,464 @@
+package network;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+/**
+ * This class accumulates the nonlinear interference (GN model) and the total power of the circuits of a link.
+ * For each circuit of the link it keeps the sum of the interference terms caused by the other circuits,
+ * updated when a circuit is added or removed, so the NLI of a circuit on the link is obtained without
+ * going through all the circuits of the link.
+ * With a spectral window, the interference on a circuit that is not on the link only considers the circuits
+ * whose central frequency is within the window, found in the circuits kept sorted by central frequency, and the
+ * other circuits are replaced by an upper bound of their interference, obtained from the sum of the bounds of all
+ * circuits, also kept up to date, less the bounds of the circuits in the window.
+ *
+ * @author Iallen
+ */
+public class LinkInterferenceAccumulator implements Serializable {
+
+	private Link link;
+
+	private double slotBandwidth; // Hz
+	private double lowerFrequency; // Hz
+	private double powerPerMode; // Power of each polarization mode of the circuits, Watt
+	private boolean fixedPowerSpectralDensity;
+	private double referenceBandwidth;
+	private double spectralWindow; // Hz, maximum distance between the central frequencies of the interfering circuits, 0 to consider all circuits
+	private NliLookupTable lookupTable; // Null when the interference terms are computed at each use
+
+	private HashMap<Circuit, Entry> entries;
+	private double sumPowerBandwidth; // Sum of the bandwidths of the circuits used in the total power
+	private int numNonFinitePowerBandwidths; // Not included in the sum, as they can not be removed from it
+	private int numLaunchPowerCircuits; // Circuits with their own launch power
+
+	// Used only with a spectral window
+	private TreeSet<Entry> entriesByFrequency;
+	private double sumOutsideBounds; // Sum of the bounds of the interference of the circuits outside the window
+	private int numNonFiniteOutsideBounds; // Not included in the sum, the bounds are not valid while there are such circuits
+	private long numAddedEntries; // Breaks the ties in the order of the entries with the same central frequency
+
+	/**
+	 * Parameters of a circuit on the link when it was added and the interference caused on it by the other circuits
+	 */
+	private static class Entry implements Serializable {
+		private double fJ; // Central frequency
+		private int position; // Central frequency in half slots, used with the lookup table
+		private double interferenceTerms[]; // Terms of the lookup table for the bandwidth of the circuit
+		private double Bsj; // Bandwidth used in the NLI
+		private double weight; // Square of the power spectral density
+		private double powerBandwidth; // Bandwidth used in the total power
+		private boolean launchPower;
+		private double outsideBound; // Bound of the interference of the circuit outside the spectral window
+		private long order;
+
+		private double sumLn; // Interference of the other circuits
+		private int numTerms;
+		private int numNonFiniteTerms; // Not included in the sum, as they can not be removed from it
+	}
+
+	/**
+	 * Orders the entries by central frequency
+	 */
+	private static class FrequencyComparator implements Comparator<Entry>, Serializable {
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			int res = Double.compare(e1.fJ, e2.fJ);
+			if (res == 0) {
+				res = Long.compare(e1.order, e2.order);
+			}
+			return res;
+		}
+	}
+
+	/**
+	 * Creates a new instance of LinkInterferenceAccumulator
+	 *
+	 * @param link Link
+	 * @param slotBandwidth double
+	 * @param lowerFrequency double
+	 * @param powerPerMode double
+	 * @param fixedPowerSpectralDensity boolean
+	 * @param referenceBandwidth double
+	 * @param spectralWindow double - Hz, 0 to consider all circuits
+	 * @param lookupTable NliLookupTable - Null to compute the interference terms at each use
+	 */
+	public LinkInterferenceAccumulator(Link link, double slotBandwidth, double lowerFrequency, double powerPerMode, boolean fixedPowerSpectralDensity, double referenceBandwidth, double spectralWindow, NliLookupTable lookupTable) {
+		this.link = link;
+		this.slotBandwidth = slotBandwidth;
+		this.lowerFrequency = lowerFrequency;
+		this.powerPerMode = powerPerMode;
+		this.fixedPowerSpectralDensity = fixedPowerSpectralDensity;
+		this.referenceBandwidth = referenceBandwidth;
+		this.spectralWindow = spectralWindow;
+		this.lookupTable = lookupTable;
+		this.entries = new HashMap<Circuit, Entry>();
+		if (spectralWindow > 0.0) {
+			this.entriesByFrequency = new TreeSet<Entry>(new FrequencyComparator());
+		}
+	}
+
+	/**
+	 * Adds a circuit to the link, or updates its parameters if it is already on the link
+	 *
+	 * @param circuit Circuit
+	 */
+	public void addCircuit(Circuit circuit) {
+		removeCircuit(circuit);
+
+		Entry entry = createEntry(circuit);
+		for (Entry other : entries.values()) {
+			addTerm(other, entry.weight * ln(other.fJ, other.position, entry));
+			addTerm(entry, other.weight * ln(entry.fJ, entry.position, other));
+		}
+		entries.put(circuit, entry);
+		if (entriesByFrequency != null) {
+			entry.order = numAddedEntries++;
+			entriesByFrequency.add(entry);
+			if (Double.isFinite(entry.outsideBound)) {
+				sumOutsideBounds += entry.outsideBound;
+			} else {
+				numNonFiniteOutsideBounds++;
+			}
+		}
+
+		if (Double.isFinite(entry.powerBandwidth)) {
+			sumPowerBandwidth += entry.powerBandwidth;
+		} else {
+			numNonFinitePowerBandwidths++;
+		}
+		if (entry.launchPower) {
+			numLaunchPowerCircuits++;
+		}
+	}
+
+	/**
+	 * Removes a circuit from the link
+	 *
+	 * @param circuit Circuit
+	 */
+	public void removeCircuit(Circuit circuit) {
+		Entry entry = entries.remove(circuit);
+		if (entry == null) {
+			return;
+		}
+		if (entriesByFrequency != null) {
+			entriesByFrequency.remove(entry);
+			if (!Double.isFinite(entry.outsideBound)) {
+				numNonFiniteOutsideBounds--;
+			} else if (entriesByFrequency.isEmpty()) {
+				sumOutsideBounds = 0.0; // Discards the rounding errors
+			} else {
+				sumOutsideBounds -= entry.outsideBound;
+			}
+		}
+
+		for (Entry other : entries.values()) {
+			removeTerm(other, entry.weight * ln(other.fJ, other.position, entry));
+		}
+
+		if (!Double.isFinite(entry.powerBandwidth)) {
+			numNonFinitePowerBandwidths--;
+		} else if (entries.isEmpty()) {
+			sumPowerBandwidth = 0.0;
+		} else {
+			sumPowerBandwidth -= entry.powerBandwidth;
+		}
+		if (entry.launchPower) {
+			numLaunchPowerCircuits--;
+		}
+	}
+
+	/**
+	 * Checks if the circuit is on the link
+	 *
+	 * @param circuit Circuit
+	 * @return boolean
+	 */
+	public boolean containsCircuit(Circuit circuit) {
+		return entries.containsKey(circuit);
+	}
+
+	/**
+	 * Checks if the accumulated values can be used, they assume that all circuits use the default launch power
+	 *
+	 * @param circuit Circuit
+	 * @param testCircuit Circuit
+	 * @return boolean
+	 */
+	public boolean canBeUsed(Circuit circuit, Circuit testCircuit) {
+		return numLaunchPowerCircuits == 0 && circuit.getLaunchPowerLinear() == Double.POSITIVE_INFINITY
+				&& (testCircuit == null || testCircuit.getLaunchPowerLinear() == Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Returns the interference term (p2) of the GN model for a circuit on the link, considering the circuits
+	 * of the link, more the test circuit if addTestCircuit is true or less it otherwise
+	 *
+	 * @param circuit Circuit
+	 * @param fI double - Central frequency of the circuit
+	 * @param testCircuit Circuit - Null if the test circuit does not use the link
+	 * @param addTestCircuit boolean
+	 * @return double
+	 */
+	public double getInterference(Circuit circuit, double fI, Circuit testCircuit, boolean addTestCircuit) {
+		if (testCircuit != null && testCircuit.equals(circuit)) {
+			testCircuit = null; // The circuit does not interfere with itself
+		}
+
+		double p2 = 0.0;
+		Entry entry = entries.get(circuit);
+		Entry test = testCircuit != null ? entries.get(testCircuit) : null;
+		int positionI = lookupTable != null ? lookupTable.getPosition(fI) : 0;
+		Entry added = null; // Test circuit that is not on the link
+		if (testCircuit != null && test == null && addTestCircuit) {
+			added = createEntry(testCircuit);
+		}
+
+		if (entry != null && entry.fJ == fI && entry.numNonFiniteTerms == 0) {
+			p2 = entry.sumLn;
+			if (test != null && !addTestCircuit) {
+				p2 -= test.weight * ln(fI, positionI, test);
+			}
+		} else {
+			if (validOutsideBounds(added)) {
+				return getInterferenceInWindow(entry, fI, positionI, test, addTestCircuit, added);
+			}
+			for (Entry other : entries.values()) {
+				if (other != entry && (other != test || addTestCircuit)) {
+					p2 += other.weight * ln(fI, positionI, other);
+				}
+			}
+		}
+
+		if (added != null) {
+			p2 += added.weight * ln(fI, positionI, added);
+		}
+
+		return p2;
+	}
+
+	/**
+	 * Returns the total input power on the link, considering the circuits of the link and the circuit,
+	 * more the test circuit if addTestCircuit is true or less it otherwise
+	 *
+	 * @param circuit Circuit
+	 * @param testCircuit Circuit - Null if the test circuit does not use the link
+	 * @param addTestCircuit boolean
+	 * @param I double - Power spectral density of the circuit
+	 * @return double
+	 */
+	public double getTotalPower(Circuit circuit, Circuit testCircuit, boolean addTestCircuit, double I) {
+		int numCircuits = entries.size();
+		double sumBandwidth = sumPowerBandwidth;
+		if (numNonFinitePowerBandwidths > 0) {
+			sumBandwidth = 0.0;
+			for (Entry other : entries.values()) {
+				sumBandwidth += other.powerBandwidth;
+			}
+		}
+
+		if (!entries.containsKey(circuit)) {
+			numCircuits++;
+			if (fixedPowerSpectralDensity) {
+				sumBandwidth += getPowerBandwidth(circuit);
+			}
+		}
+
+		if (testCircuit != null) {
+			Entry test = entries.get(testCircuit);
+			if (test == null && addTestCircuit && !testCircuit.equals(circuit)) {
+				numCircuits++;
+				if (fixedPowerSpectralDensity) {
+					sumBandwidth += getPowerBandwidth(testCircuit);
+				}
+			} else if (!addTestCircuit && (test != null || testCircuit.equals(circuit))) {
+				numCircuits--;
+				if (fixedPowerSpectralDensity) {
+					sumBandwidth -= test != null ? test.powerBandwidth : getPowerBandwidth(testCircuit);
+				}
+			}
+		}
+
+		if (fixedPowerSpectralDensity) {
+			return I * sumBandwidth;
+		}
+		return numCircuits * powerPerMode;
+	}
+
+	/**
+	 * Checks if there is a spectral window and the bound of the interference of the circuits outside it is valid,
+	 * the window must be larger than half the bandwidth of all circuits
+	 */
+	private boolean validOutsideBounds(Entry added) {
+		return entriesByFrequency != null && numNonFiniteOutsideBounds == 0
+				&& (added == null || Double.isFinite(added.outsideBound));
+	}
+
+	/**
+	 * Returns the interference of the circuits whose central frequency is within the spectral window around fI,
+	 * more an upper bound of the interference of the circuits outside the window
+	 */
+	private double getInterferenceInWindow(Entry entry, double fI, int positionI, Entry test, boolean addTestCircuit, Entry added) {
+		double p2 = 0.0;
+
+		// First entry with central frequency in the window
+		Entry first = new Entry();
+		first.fJ = fI - spectralWindow;
+		first.order = Long.MIN_VALUE;
+
+		double insideBounds = 0.0;
+		for (Entry other : entriesByFrequency.tailSet(first, true)) {
+			if (other.fJ > fI + spectralWindow) {
+				break;
+			}
+			insideBounds += other.outsideBound;
+			if (other != entry && (other != test || addTestCircuit)) {
+				p2 += other.weight * ln(fI, positionI, other);
+			}
+		}
+
+		// Bound of the circuits before and after the window
+		double bound = sumOutsideBounds - insideBounds;
+
+		// The circuit itself and the test circuit removed from the link do not interfere
+		if (entry != null && !isInWindow(fI, entry.fJ)) {
+			bound -= entry.outsideBound;
+		}
+		if (test != null && !addTestCircuit && !isInWindow(fI, test.fJ)) {
+			bound -= test.outsideBound;
+		}
+
+		if (added != null) {
+			if (isInWindow(fI, added.fJ)) {
+				p2 += added.weight * ln(fI, positionI, added);
+			} else {
+				bound += added.outsideBound;
+			}
+		}
+
+		if (bound > 0.0) {
+			p2 += bound;
+		}
+
+		return p2;
+	}
+
+	private boolean isInWindow(double fI, double fJ) {
+		return fJ >= fI - spectralWindow && fJ <= fI + spectralWindow;
+	}
+
+	/**
+	 * Upper bound of the interference of a circuit outside the spectral window, that is the interference
+	 * of the circuit at the edge of the window, since the interference decreases with the distance
+	 */
+	private double outsideBound(Entry entry) {
+		if (spectralWindow <= entry.Bsj / 2.0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return entry.weight * Math.log((spectralWindow + (entry.Bsj / 2.0)) / (spectralWindow - (entry.Bsj / 2.0)));
+	}
+
+	/**
+	 * Computes the parameters of a circuit on the link
+	 */
+	private Entry createEntry(Circuit circuit) {
+		Entry entry = new Entry();
+
+		int saJ[] = circuit.getSpectrumAssignedByLink(link);
+		double numOfSlots = saJ[1] - saJ[0] + 1.0;
+		double Bsj = numOfSlots * slotBandwidth; // Circuit bandwidth
+		entry.fJ = lowerFrequency + (slotBandwidth * (saJ[0] - 1.0)) + (Bsj / 2.0); // Central frequency of circuit
+		entry.Bsj = circuit.getModulation().getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+		if (lookupTable != null) {
+			entry.position = NliLookupTable.getPosition(saJ);
+			entry.interferenceTerms = lookupTable.getInterferenceTerms(entry.Bsj);
+		}
+
+		double Gj = powerPerMode / referenceBandwidth;
+		if (!fixedPowerSpectralDensity) {
+			Gj = powerPerMode / entry.Bsj;
+		}
+		entry.weight = Gj * Gj;
+
+		if (fixedPowerSpectralDensity) {
+			entry.powerBandwidth = getPowerBandwidth(circuit);
+		}
+		entry.launchPower = circuit.getLaunchPowerLinear() != Double.POSITIVE_INFINITY;
+		if (spectralWindow > 0.0) {
+			entry.outsideBound = outsideBound(entry);
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Adds the interference term of a circuit to the sum of an entry
+	 */
+	private static void addTerm(Entry entry, double term) {
+		if (Double.isFinite(term)) {
+			entry.sumLn += term;
+			entry.numTerms++;
+		} else {
+			entry.numNonFiniteTerms++;
+		}
+	}
+
+	/**
+	 * Removes the interference term of a circuit from the sum of an entry
+	 */
+	private static void removeTerm(Entry entry, double term) {
+		if (!Double.isFinite(term)) {
+			entry.numNonFiniteTerms--;
+			return;
+		}
+
+		entry.numTerms--;
+		if (entry.numTerms == 0) {
+			entry.sumLn = 0.0; // Discards the rounding errors
+		} else {
+			entry.sumLn -= term;
+		}
+	}
+
+	private double getPowerBandwidth(Circuit circuit) {
+		return circuit.getModulationByLink(link).getBandwidthFromBitRate(circuit.getRequiredBandwidth());
+	}
+
+	/**
+	 * Interference term of a circuit on a circuit I, without the power spectral density of the interfering circuit
+	 */
+	private double ln(double fI, int positionI, Entry interferer) {
+		if (lookupTable != null) {
+			int distance = Math.abs(positionI - interferer.position);
+			if (distance < interferer.interferenceTerms.length) {
+				return interferer.interferenceTerms[distance];
+			}
+			return lookupTable.getInterferenceTerm(distance, interferer.Bsj);
+		}
+		return ln(fI, interferer.fJ, interferer.Bsj);
+	}
+
+	/**
+	 * Interference term of a circuit J on a circuit I, without the power spectral density of J
+	 */
+	private static double ln(double fI, double fJ, double Bsj) {
+		double deltaFij = fI - fJ;
+		if (deltaFij < 0.0) {
+			deltaFij = -1.0 * deltaFij;
+		}
+
+		double d1 = deltaFij + (Bsj / 2.0);
+		double d2 = deltaFij - (Bsj / 2.0);
+
+		double d3 = d1 / d2;
+		if (d3 < 0.0) {
+			d3 = -1.0 * d3;
+		}
+
+		return Math.log(d3);
+	}
+
+}
@@ -26,6 +26,16 @@ public class Mesh implements Serializable {
     private Vector<Link> linkList;
     private Vector<Pair> pairList;
     
+    // Indexes of the topology by the ids of the nodes, the links and the pairs
+    private HashMap<String, Node> nodesByName;
+    private Link linkMatrix[][]; // Link from each node to each node, or null
+    private Pair pairMatrix[][];
+    // Adjacency in compressed sparse rows: the adjacent nodes of node i, and the links to them, are in the positions
+    // adjacencyOffsets[i] to adjacencyOffsets[i + 1] - 1, in the order of the links of the node
+    private int adjacencyOffsets[];
+    private int adjacentNodeIds[];
+    private int adjacentLinkIds[];
+    
     private int guarBand;
     
     private PhysicalLayer physicalLayer;
@@ -41,6 +51,9 @@ public class Mesh implements Serializable {
     private HashMap<String, HashMap<Double, Double>> modTrDistance;
 
     private Util util;
+    
+    private RandGenerator randGenerator;
+    private RandGenerator algorithmsRandGenerator;
 
     /**
      * Creates a new instance of Mesh.
@@ -49,10 +62,21 @@ public class Mesh implements Serializable {
      * @param tc TrafficConfig
      */
     public Mesh(NetworkConfig nc, TrafficConfig tc, PhysicalLayerConfig plc, OthersConfig oc, HashMap<String, HashMap<Double, Double>> modTrDistance, Util util) {
+        this(nc, tc, plc, oc, modTrDistance, util, new RandGenerator());
+    }
+
+    /**
+     * Creates a new instance of Mesh whose random streams are derived from a given generator.
+     * 
+     * @param nc NetworkConfig
+     * @param tc TrafficConfig
+     * @param randGenerator RandGenerator
+     */
+    public Mesh(NetworkConfig nc, TrafficConfig tc, PhysicalLayerConfig plc, OthersConfig oc, HashMap<String, HashMap<Double, Double>> modTrDistance, Util util, RandGenerator randGenerator) {
         this.util = util;
         this.guarBand = nc.getGuardBand();
         this.othersConfig = oc;
-        RandGenerator randGenerator = new RandGenerator();
+        this.randGenerator = randGenerator;
         HashMap<String, Node> nodesAux = new HashMap<>();
         
         // Create nodes
@@ -66,7 +90,7 @@ public class Mesh implements Serializable {
         // Create links
         this.linkList = new Vector<>();
         for (NetworkConfig.LinkConfig linkConf : nc.getLinks()) {
-            Link lAux = new Link(nodesAux.get(linkConf.getSource()).getOxc(), nodesAux.get(linkConf.getDestination()).getOxc(), linkConf.getSlots(), linkConf.getSpectrum(), linkConf.getSize());
+            Link lAux = new Link(nodesAux.get(linkConf.getSource()).getOxc(), nodesAux.get(linkConf.getDestination()).getOxc(), linkConf.getSlots(), linkConf.getSpectrum(), linkConf.getSize(), nc.getSpectrumModel());
             linkList.add(lAux);
             nodesAux.get(linkConf.getSource()).getOxc().addLink(lAux);
         }
@@ -85,13 +109,29 @@ public class Mesh implements Serializable {
             }
         }
         
-        // Add request generators in pairs
+        this.createIndexes();
+        
+        // Add request generators in pairs, each one with its own streams of arrivals and holding times.
+        // The seeds are derived from the pair and the bandwidth of the generator, not from its position in the traffic file,
+        // so a generator has the same streams in all configurations compared with the same seed (common random numbers)
+        long streamsSeed = randGenerator.nextLong();
+        HashMap<String, Integer> occurrences = new HashMap<>();
         for (TrafficConfig.RequestGeneratorConfig rgc : tc.getRequestGenerators()) {
             Pair p = pairsAux.get(rgc.getSource()).get(rgc.getDestination());
-            p.addRequestGenerator(new RequestGenerator(p, rgc.getBandwidth(), rgc.getHoldRate(), rgc.getArrivalRate(), rgc.getArrivalRateIncrease(), randGenerator));
+            String key = rgc.getSource() + "-" + rgc.getDestination() + "-" + rgc.getBandwidth();
+            Integer occurrence = occurrences.get(key);
+            occurrence = (occurrence == null) ? 0 : occurrence + 1;
+            occurrences.put(key, occurrence);
+            long seed = RandGenerator.deriveSeed(streamsSeed, rgc.getSource().hashCode(), rgc.getDestination().hashCode(), Double.doubleToLongBits(rgc.getBandwidth()), occurrence);
+            RandGenerator arrivals = new RandGenerator(RandGenerator.deriveSeed(seed, 0), randGenerator.isAntithetic());
+            RandGenerator holds = new RandGenerator(RandGenerator.deriveSeed(seed, 1), randGenerator.isAntithetic());
+            p.addRequestGenerator(new RequestGenerator(p, rgc.getBandwidth(), rgc.getHoldRate(), rgc.getArrivalRate(), rgc.getArrivalRateIncrease(), arrivals, holds));
             util.bandwidths.add(rgc.getBandwidth()); //Used to write to the archive the results of the simulation
         }
         
+        // Stream of the random choices of the RMLSA algorithms, derived without drawing from the shared generator
+        this.algorithmsRandGenerator = new RandGenerator(RandGenerator.deriveSeed(streamsSeed), randGenerator.isAntithetic());
+        
         // Information related to the physical layer of the network
         this.physicalLayer = new PhysicalLayer(plc, this, util);
         
@@ -116,6 +156,47 @@ public class Mesh implements Serializable {
         }
     }
     
+    /**
+     * Assigns the ids of the nodes, the links and the pairs and creates the indexes of the topology
+     */
+    private void createIndexes() {
+        int numNodes = nodeList.size();
+        nodesByName = new HashMap<>();
+        for (int i = 0; i < numNodes; i++) {
+            nodeList.get(i).setId(i);
+            nodesByName.put(nodeList.get(i).getName(), nodeList.get(i));
+        }
+        
+        linkMatrix = new Link[numNodes][numNodes];
+        for (int i = 0; i < linkList.size(); i++) {
+            Link link = linkList.get(i);
+            link.setId(i);
+            linkMatrix[nodesByName.get(link.getSource().getName()).getId()][nodesByName.get(link.getDestination().getName()).getId()] = link;
+        }
+        
+        pairMatrix = new Pair[numNodes][numNodes];
+        for (int i = 0; i < pairList.size(); i++) {
+            Pair pair = pairList.get(i);
+            pair.setId(i);
+            pairMatrix[pair.getSource().getId()][pair.getDestination().getId()] = pair;
+        }
+        
+        adjacencyOffsets = new int[numNodes + 1];
+        for (int i = 0; i < numNodes; i++) {
+            adjacencyOffsets[i + 1] = adjacencyOffsets[i] + nodeList.get(i).getOxc().getLinksList().size();
+        }
+        adjacentNodeIds = new int[adjacencyOffsets[numNodes]];
+        adjacentLinkIds = new int[adjacencyOffsets[numNodes]];
+        for (int i = 0; i < numNodes; i++) {
+            int position = adjacencyOffsets[i];
+            for (Link link : nodeList.get(i).getOxc().getLinksList()) {
+                adjacentNodeIds[position] = nodesByName.get(link.getDestination().getName()).getId();
+                adjacentLinkIds[position] = link.getId();
+                position++;
+            }
+        }
+    }
+    
     /**
      * Returns the modulation transmission range by transmission rate
      * 
@@ -149,13 +230,72 @@ public class Mesh implements Serializable {
      * @return Link
      */
     public Link getLink(String source, String destination) {
-        for (int i = 0; i < linkList.size(); i++) {
-            if ((linkList.get(i).getSource().getName() == source) &&
-                    (linkList.get(i).getDestination().getName() == destination)) {
-                return linkList.get(i);
-            }
+        Node s = nodesByName.get(source);
+        Node d = nodesByName.get(destination);
+        if (s == null || d == null) {
+            return null;
         }
-        return null;
+        return linkMatrix[s.getId()][d.getId()];
+    }
+
+    /**
+     * Returns the link between two nodes by their ids
+     * 
+     * @param source int
+     * @param destination int
+     * @return Link - null if there is no link
+     */
+    public Link getLink(int source, int destination) {
+        return linkMatrix[source][destination];
+    }
+
+    /**
+     * Returns the node with a given id
+     * 
+     * @param id int
+     * @return Node
+     */
+    public Node getNode(int id) {
+        return nodeList.get(id);
+    }
+
+    /**
+     * Returns the pair of two nodes by their ids
+     * 
+     * @param source int
+     * @param destination int
+     * @return Pair - null if source and destination are the same node
+     */
+    public Pair getPair(int source, int destination) {
+        return pairMatrix[source][destination];
+    }
+
+    /**
+     * Returns the offsets of the adjacency of each node in the arrays of adjacent node and link ids.
+     * The adjacency of node i is in the positions adjacencyOffsets[i] to adjacencyOffsets[i + 1] - 1.
+     * 
+     * @return int[]
+     */
+    public int[] getAdjacencyOffsets() {
+        return adjacencyOffsets;
+    }
+
+    /**
+     * Returns the ids of the adjacent nodes of all nodes, in the order of the links of each node
+     * 
+     * @return int[]
+     */
+    public int[] getAdjacentNodeIds() {
+        return adjacentNodeIds;
+    }
+
+    /**
+     * Returns the ids of the links to the adjacent nodes of all nodes
+     * 
+     * @return int[]
+     */
+    public int[] getAdjacentLinkIds() {
+        return adjacentLinkIds;
     }
 
     /**
@@ -183,13 +323,7 @@ public class Mesh implements Serializable {
      * @return Node
      */
     public Node searchNode(String name) {
-        for (int i = 0; i < this.nodeList.size(); i++) {
-            Node tmp = nodeList.get(i);
-            if (tmp.getName().equals(name)) {
-                return tmp;
-            }
-        }
-        return null;
+        return nodesByName.get(name);
     }
 
     /**
@@ -200,8 +334,8 @@ public class Mesh implements Serializable {
      */
     public List<Node> getAdjacents(Node n) {
         List<Node> res = new ArrayList<>();
-        for (Oxc o : n.getOxc().getAllAdjacents()) {
-            res.add(searchNode(o.getName()));
+        for (int i = adjacencyOffsets[n.getId()]; i < adjacencyOffsets[n.getId() + 1]; i++) {
+            res.add(nodeList.get(adjacentNodeIds[i]));
         }
         return res;
     }
@@ -348,4 +482,22 @@ public class Mesh implements Serializable {
     public Util getUtil() {
         return util;
     }
+
+    /**
+     * Returns the random generator shared by the request generators of the network
+     * 
+     * @return RandGenerator
+     */
+    public RandGenerator getRandGenerator() {
+        return randGenerator;
+    }
+
+    /**
+     * Returns the random generator of the random choices of the RMLSA algorithms of the network
+     * 
+     * @return RandGenerator
+     */
+    public RandGenerator getAlgorithmsRandGenerator() {
+        return algorithmsRandGenerator;
+    }
 }
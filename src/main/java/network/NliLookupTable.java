@@ -0,0 +1,151 @@
+package network;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import simulationControl.parsers.PhysicalLayerConfig;
+
+/**
+ * This class keeps the terms of the GN model that depend only on the position and the bandwidth of the circuits.
+ * The distance between the central frequencies of two circuits is a multiple of half a slot, so the interference
+ * term ln(|df + Bsj/2| / |df - Bsj/2|) is stored by distance in half slots for each bandwidth Bsj, and the
+ * self-channel term arcsinh(ro) is stored by bandwidth.
+ * The tables are filled on demand and shared by all simulations with the same physical layer configuration.
+ *
+ * @author Iallen
+ */
+public class NliLookupTable implements Serializable {
+
+	private static final Map<PhysicalLayerConfig, NliLookupTable> tables = Collections.synchronizedMap(new WeakHashMap<PhysicalLayerConfig, NliLookupTable>());
+
+	private double slotBandwidth; // Hz
+	private double lowerFrequency; // Hz
+	private int numOfSlots;
+	private double beta2; // Absolute value of the group-velocity dispersion
+	private double alphaLinear;
+
+	private ConcurrentHashMap<Double, double[]> interferenceTerms; // By bandwidth of the interfering circuit and distance in half slots
+	private ConcurrentHashMap<Double, Double> selfTerms; // By bandwidth of the circuit
+
+	/**
+	 * Returns the table of a physical layer configuration, creating it if necessary
+	 *
+	 * @param plc PhysicalLayerConfig
+	 * @param slotBandwidth double
+	 * @param lowerFrequency double
+	 * @param numOfSlots int
+	 * @param beta2 double
+	 * @param alphaLinear double
+	 * @return NliLookupTable
+	 */
+	public static NliLookupTable getTable(PhysicalLayerConfig plc, double slotBandwidth, double lowerFrequency, int numOfSlots, double beta2, double alphaLinear) {
+		synchronized (tables) {
+			NliLookupTable table = tables.get(plc);
+			if (table == null || table.slotBandwidth != slotBandwidth || table.lowerFrequency != lowerFrequency
+					|| table.numOfSlots != numOfSlots || table.beta2 != Math.abs(beta2) || table.alphaLinear != alphaLinear) {
+				table = new NliLookupTable(slotBandwidth, lowerFrequency, numOfSlots, beta2, alphaLinear);
+				tables.put(plc, table);
+			}
+			return table;
+		}
+	}
+
+	private NliLookupTable(double slotBandwidth, double lowerFrequency, int numOfSlots, double beta2, double alphaLinear) {
+		this.slotBandwidth = slotBandwidth;
+		this.lowerFrequency = lowerFrequency;
+		this.numOfSlots = numOfSlots;
+		this.beta2 = Math.abs(beta2);
+		this.alphaLinear = alphaLinear;
+		this.interferenceTerms = new ConcurrentHashMap<Double, double[]>();
+		this.selfTerms = new ConcurrentHashMap<Double, Double>();
+	}
+
+	/**
+	 * Returns the position of a central frequency, in half slots from the lower frequency
+	 *
+	 * @param frequency double
+	 * @return int
+	 */
+	public int getPosition(double frequency) {
+		return (int) Math.round((frequency - lowerFrequency) / (slotBandwidth / 2.0));
+	}
+
+	/**
+	 * Returns the position of the central frequency of a spectrum band, in half slots from the lower frequency
+	 *
+	 * @param spectrumBand int[]
+	 * @return int
+	 */
+	public static int getPosition(int spectrumBand[]) {
+		return 2 * (spectrumBand[0] - 1) + (spectrumBand[1] - spectrumBand[0] + 1);
+	}
+
+	/**
+	 * Returns the interference terms of a circuit with a given bandwidth, indexed by the distance in half slots
+	 * between its central frequency and the central frequency of the circuit under test
+	 *
+	 * @param Bsj double
+	 * @return double[]
+	 */
+	public double[] getInterferenceTerms(double Bsj) {
+		double terms[] = interferenceTerms.get(Bsj);
+		if (terms == null) {
+			terms = new double[2 * numOfSlots + 1];
+			for (int distance = 0; distance < terms.length; distance++) {
+				terms[distance] = computeInterferenceTerm(distance * (slotBandwidth / 2.0), Bsj);
+			}
+			interferenceTerms.putIfAbsent(Bsj, terms);
+		}
+		return terms;
+	}
+
+	/**
+	 * Returns the interference term of a circuit with a given bandwidth at a given distance in half slots
+	 *
+	 * @param distance int
+	 * @param Bsj double
+	 * @return double
+	 */
+	public double getInterferenceTerm(int distance, double Bsj) {
+		double terms[] = getInterferenceTerms(Bsj);
+		if (distance >= terms.length) {
+			return computeInterferenceTerm(distance * (slotBandwidth / 2.0), Bsj);
+		}
+		return terms[distance];
+	}
+
+	/**
+	 * Returns the term arcsinh(ro) of the self-channel interference of a circuit with a given bandwidth
+	 *
+	 * @param BsI double
+	 * @return double
+	 */
+	public double getSelfTerm(double BsI) {
+		Double term = selfTerms.get(BsI);
+		if (term == null) {
+			double ro =  BsI * BsI * (Math.PI * Math.PI * beta2) / (2.0 * alphaLinear);
+			if (ro < 0.0) {
+				ro = -1.0 * ro;
+			}
+			term = PhysicalLayer.arcsinh(ro);
+			selfTerms.putIfAbsent(BsI, term);
+		}
+		return term;
+	}
+
+	private static double computeInterferenceTerm(double deltaFij, double Bsj) {
+		double d1 = deltaFij + (Bsj / 2.0);
+		double d2 = deltaFij - (Bsj / 2.0);
+
+		double d3 = d1 / d2;
+		if (d3 < 0.0) {
+			d3 = -1.0 * d3;
+		}
+
+		return Math.log(d3);
+	}
+
+}
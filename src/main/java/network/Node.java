@@ -11,6 +11,7 @@ import java.util.Vector;
 public class Node implements Serializable {
 
     private String name;
+    private int id = -1; // Dense index of the node in the mesh
     private Oxc oxc;
     private Vector<Pair> pairs;
     private Transmitters txs;
@@ -60,6 +61,24 @@ public class Node implements Serializable {
         return false;
     }
 
+    /**
+     * Returns the id of the node, its index in the mesh, or -1 if the node is not in a mesh
+     *
+     * @return int
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of the node
+     *
+     * @param id int
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Getter for property oxc
      *
@@ -15,6 +15,7 @@ public class Pair implements Serializable {
 
     private Node source;
     private Node destination;
+    private int id = -1; // Dense index of the pair in the mesh
     private List<RequestGenerator> requestGenerators;
 
     /**
@@ -47,6 +48,24 @@ public class Pair implements Serializable {
         return this.destination;
     }
 
+    /**
+     * Returns the id of the pair, its index in the mesh, or -1 if the pair is not in a mesh
+     *
+     * @return int
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of the pair
+     *
+     * @param id int
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the name of the pair (s, d)
      *
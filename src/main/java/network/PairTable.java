@@ -0,0 +1,84 @@
+package network;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * This class keeps a value for each pair of source and destination nodes of a mesh, indexed by the ids of the nodes,
+ * so the values are found without building and hashing the names of the pairs.
+ *
+ * @param <T> type of the values
+ * @author Iallen
+ */
+public class PairTable<T> implements Serializable {
+
+	private int numNodes;
+	private Object values[];
+
+	/**
+	 * Creates a new instance of PairTable with no values
+	 *
+	 * @param numNodes int - number of nodes of the mesh
+	 */
+	public PairTable(int numNodes) {
+		this.numNodes = numNodes;
+		this.values = new Object[numNodes * numNodes];
+	}
+
+	/**
+	 * Creates a table with the values of a map whose keys are the names of the source and destination nodes
+	 * separated by a given separator, as the route tables of the routing algorithms
+	 *
+	 * @param mesh Mesh
+	 * @param valuesByPair Map<String, T>
+	 * @param separator String
+	 * @return PairTable<T>
+	 */
+	public static <T> PairTable<T> fromNames(Mesh mesh, Map<String, T> valuesByPair, String separator) {
+		PairTable<T> table = new PairTable<>(mesh.getNodeList().size());
+		for (Node source : mesh.getNodeList()) {
+			for (Node destination : mesh.getNodeList()) {
+				T value = valuesByPair.get(source.getName() + separator + destination.getName());
+				if (value != null) {
+					table.put(source.getId(), destination.getId(), value);
+				}
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the value of a pair
+	 *
+	 * @param source Node
+	 * @param destination Node
+	 * @return T - null if the pair has no value
+	 */
+	public T get(Node source, Node destination) {
+		return get(source.getId(), destination.getId());
+	}
+
+	/**
+	 * Returns the value of a pair by the ids of its nodes
+	 *
+	 * @param source int
+	 * @param destination int
+	 * @return T - null if the pair has no value
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int source, int destination) {
+		return (T) values[source * numNodes + destination];
+	}
+
+	/**
+	 * Sets the value of a pair by the ids of its nodes
+	 *
+	 * @param source int
+	 * @param destination int
+	 * @param value T
+	 */
+	public void put(int source, int destination, T value) {
+		values[source * numNodes + destination] = value;
+	}
+
+}
@@ -1,9 +1,12 @@
 package network;
 
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.Vector;
 
@@ -19,6 +22,12 @@ import simulationControl.parsers.PhysicalLayerConfig;
  * @author Alexandre
  */
 public class PhysicalLayer implements Serializable {
+	
+	// Ways to compute the NLI and the total power of the links
+	public static final String NLI_EXACT = "exact"; // Goes through all circuits of the link at each computation
+	public static final String NLI_INCREMENTAL = "incremental"; // Uses the accumulators of the links
+	public static final String NLI_VERIFICATION = "verification"; // Uses the accumulators and compares them with the exact computation
+	public static final String NLI_WINDOW = "window"; // Uses the accumulators, the circuits that are not on a link only consider the interferers within the spectral window
 
 	// Allows you to enable or disable the calculations of physical layer
     private boolean activeQoT; // QoTN
@@ -53,7 +62,7 @@ public class PhysicalLayer implements Serializable {
     
 	private Amplifier boosterAmp; // Booster amplifier
 	private Amplifier lineAmp; // Line amplifier
-	private Amplifier preAmp; // Pre amplifier
+	private HashMap<Link, Amplifier> preAmps; // Pre amplifier of each link, with the gain of the last span of the link
 	
 	private double powerLinear; // Transmitter power, Watt
 	private double alphaLinear; // 1/m
@@ -64,6 +73,11 @@ public class PhysicalLayer implements Serializable {
 	private double lowerFrequency; // Hz
 	
 	private double polarizationModes; // Number of polarization modes
+	
+	private String nliComputation;
+	private HashMap<Link, LinkInterferenceAccumulator> accumulators; // Null when the NLI is computed in the exact way
+	private LinkedHashSet<Circuit> changedCircuits; // Active circuits whose parameters changed since the last update of the accumulators
+	private NliLookupTable lookupTable; // Null when the terms of the NLI are computed at each use
 
 	private Util util;
 	
@@ -117,16 +131,155 @@ public class PhysicalLayer implements Serializable {
         this.attenuationBySpanLinear = Math.pow(Math.E, alphaLinear * spanMeter);
         double boosterAmpGainLinear = LsssLinear * LsssLinear;
         double lineAmpGainLinear = attenuationBySpanLinear;
-        double preAmpGainLinear = attenuationBySpanLinear;
         
         this.boosterAmp = new Amplifier(ratioForDB(boosterAmpGainLinear), pSat, NF, h, amplificationFrequency, 0.0, A1, A2);
         this.lineAmp = new Amplifier(ratioForDB(lineAmpGainLinear), pSat, NF, h, amplificationFrequency, 0.0, A1, A2);
-        this.preAmp = new Amplifier(ratioForDB(preAmpGainLinear), pSat, NF, h, amplificationFrequency, 0.0, A1, A2);
+        
+        // The pre amplifier compensates the last span of the link, it is created once per link so that the computations do not change its gain
+        this.preAmps = new HashMap<Link, Amplifier>();
+        for (Link link : mesh.getLinkList()) {
+        	preAmps.put(link, createPreAmplifier(link));
+        }
         
         this.slotBandwidth = mesh.getLinkList().firstElement().getSlotSpectrumBand(); //Hz
         double totalSlots = mesh.getLinkList().firstElement().getNumOfSlots();
 		this.lowerFrequency = centerFrequency - (slotBandwidth * (totalSlots / 2.0)); // Hz, Half slots are removed because center Frequency = 193.55E+12 is the central frequency of the optical spectrum
+		
+		if(plc.isNliLookupTables()){
+			this.lookupTable = NliLookupTable.getTable(plc, slotBandwidth, lowerFrequency, (int) totalSlots, beta2, alphaLinear);
+		}
+		
+		this.nliComputation = plc.getNliComputation();
+		if(this.nliComputation == null || this.nliComputation.isEmpty()) {
+			this.nliComputation = NLI_EXACT;
+		}
+		double spectralWindow = 0.0; // All circuits of the link
+		if(NLI_WINDOW.equals(this.nliComputation)){
+			spectralWindow = plc.getNliSpectralWindow();
+			if(spectralWindow <= 0.0){
+				throw new IllegalArgumentException("The NLI spectral window must be greater than zero");
+			}
+		}
+		switch (this.nliComputation) {
+			case NLI_EXACT:
+				break;
+			case NLI_WINDOW:
+			case NLI_INCREMENTAL:
+			case NLI_VERIFICATION:
+				this.accumulators = new HashMap<Link, LinkInterferenceAccumulator>();
+				this.changedCircuits = new LinkedHashSet<Circuit>();
+				for (Link link : mesh.getLinkList()) {
+					accumulators.put(link, new LinkInterferenceAccumulator(link, slotBandwidth, lowerFrequency, powerLinear / polarizationModes, fixedPowerSpectralDensity, referenceBandwidth, spectralWindow, lookupTable));
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown NLI computation: " + this.nliComputation);
+		}
     }
+	
+	/**
+	 * Adds an active circuit to the accumulators of the links of its route
+	 * 
+	 * @param circuit Circuit
+	 */
+	public void addCircuit(Circuit circuit){
+		if(accumulators == null){
+			return;
+		}
+		
+		changedCircuits.remove(circuit);
+		for (Link link : circuit.getRoute().getLinkList()) {
+			accumulators.get(link).addCircuit(circuit);
+		}
+		circuit.setPhysicalLayer(this);
+	}
+	
+	/**
+	 * Removes a released circuit from the accumulators of the links of its route
+	 * 
+	 * @param circuit Circuit
+	 */
+	public void removeCircuit(Circuit circuit){
+		if(accumulators == null){
+			return;
+		}
+		
+		circuit.setPhysicalLayer(null);
+		changedCircuits.remove(circuit);
+		for (Link link : circuit.getRoute().getLinkList()) {
+			accumulators.get(link).removeCircuit(circuit);
+		}
+	}
+	
+	/**
+	 * Informs that the parameters of an active circuit changed, its accumulated values are updated before the next computation
+	 * 
+	 * @param circuit Circuit
+	 */
+	public void circuitChanged(Circuit circuit){
+		if(accumulators != null){
+			changedCircuits.add(circuit);
+		}
+	}
+	
+	/**
+	 * Updates the accumulated values of the active circuits whose parameters changed.
+	 * Must be called before computations done in parallel, as these do not change the accumulators
+	 */
+	void updateChangedCircuits(){
+		if(accumulators == null || changedCircuits.isEmpty()){
+			return;
+		}
+		
+		for (Circuit circuit : changedCircuits) {
+			for (Link link : circuit.getRoute().getLinkList()) {
+				LinkInterferenceAccumulator accumulator = accumulators.get(link);
+				if(accumulator.containsCircuit(circuit)){
+					accumulator.addCircuit(circuit);
+				}
+			}
+		}
+		changedCircuits.clear();
+	}
+	
+	/**
+	 * Returns the accumulator of the link if it can be used in the computation, or null otherwise
+	 * 
+	 * @param link Link
+	 * @param circuit Circuit
+	 * @param testCircuit Circuit
+	 * @return LinkInterferenceAccumulator
+	 */
+	private LinkInterferenceAccumulator getAccumulator(Link link, Circuit circuit, Circuit testCircuit){
+		if(accumulators == null){
+			return null;
+		}
+		
+		LinkInterferenceAccumulator accumulator = accumulators.get(link);
+		if(accumulator == null || !accumulator.canBeUsed(circuit, testCircuit)){
+			return null;
+		}
+		return accumulator;
+	}
+	
+	/**
+	 * Checks if the accumulated value is equal to the exact value, except for rounding errors
+	 * 
+	 * @param name String
+	 * @param link Link
+	 * @param accumulated double
+	 * @param exact double
+	 */
+	private void verifyAccumulatedValue(String name, Link link, double accumulated, double exact){
+		if(Double.compare(accumulated, exact) == 0){
+			return;
+		}
+		
+		double difference = Math.abs(accumulated - exact);
+		if(!(difference <= 1.0E-9 * Math.max(Math.abs(accumulated), Math.abs(exact)))){ // Also fails when only one of them is not a number
+			throw new IllegalStateException("Accumulated " + name + " differs from the exact value on link " + link.getName() + ": " + accumulated + " != " + exact);
+		}
+	}
   
 	/**
 	 * Returns if QoTN check is active or not
@@ -243,13 +396,25 @@ public class PhysicalLayer implements Serializable {
 	 * @return boolean
 	 */
 	public boolean isAdmissibleModultion(Circuit circuit, Route route, Modulation modulation, int spectrumAssigned[], Circuit testCircuit, boolean addTestCircuit){
-		double SNR = computeSNRSegment(circuit, route, 0, route.getNodeList().size() - 1, modulation, spectrumAssigned, testCircuit, addTestCircuit);
-		double SNRdB = ratioForDB(SNR);
-		circuit.setSNR(SNRdB);
+		QoTEvaluation evaluation = evaluateModulation(circuit, route, modulation, spectrumAssigned, testCircuit, addTestCircuit);
+		circuit.setSNR(evaluation.getSNR());
 		
-		boolean QoT = isAdmissible(modulation, SNRdB, SNR);
-		
-		return QoT;
+		return evaluation.isQoT();
+	}
+	
+	/**
+	 * Evaluates the QoT of the circuit with the modulation format without changing the circuit
+	 * 
+	 * @param circuit Circuit
+	 * @param route Route
+	 * @param modulation Modulation
+	 * @param spectrumAssigned int[]
+	 * @param testCircuit Circuit
+	 * @param addTestCircuit boolean
+	 * @return QoTEvaluation
+	 */
+	public QoTEvaluation evaluateModulation(Circuit circuit, Route route, Modulation modulation, int spectrumAssigned[], Circuit testCircuit, boolean addTestCircuit){
+		return evaluateModulationBySegment(circuit, route, 0, route.getNodeList().size() - 1, modulation, spectrumAssigned, testCircuit, addTestCircuit);
 	}
 	
 	/**
@@ -267,13 +432,30 @@ public class PhysicalLayer implements Serializable {
 	 * @return boolean
 	 */
 	public boolean isAdmissibleModultionBySegment(Circuit circuit, Route route, int sourceNodeIndex, int destinationNodeIndex, Modulation modulation, int spectrumAssigned[], Circuit testCircuit, boolean addTestCircuit){
+		QoTEvaluation evaluation = evaluateModulationBySegment(circuit, route, sourceNodeIndex, destinationNodeIndex, modulation, spectrumAssigned, testCircuit, addTestCircuit);
+		circuit.setSNR(evaluation.getSNR());
+		
+		return evaluation.isQoT();
+	}
+	
+	/**
+	 * Evaluates the QoT of the circuit with the modulation format for segment without changing the circuit
+	 * 
+	 * @param circuit Circuit
+	 * @param route Route
+	 * @param sourceNodeIndex int
+	 * @param destinationNodeIndex int
+	 * @param modulation Modulation
+	 * @param spectrumAssigned int[]
+	 * @param testCircuit Circuit
+	 * @param addTestCircuit boolean
+	 * @return QoTEvaluation
+	 */
+	public QoTEvaluation evaluateModulationBySegment(Circuit circuit, Route route, int sourceNodeIndex, int destinationNodeIndex, Modulation modulation, int spectrumAssigned[], Circuit testCircuit, boolean addTestCircuit){
 		double SNR = computeSNRSegment(circuit, route, sourceNodeIndex, destinationNodeIndex, modulation, spectrumAssigned, testCircuit, addTestCircuit);
 		double SNRdB = ratioForDB(SNR);
-		circuit.setSNR(SNRdB);
 		
-		boolean QoT = isAdmissible(modulation, SNRdB, SNR);
-		
-		return QoT;
+		return new QoTEvaluation(SNRdB, isAdmissible(modulation, SNRdB, SNR));
 	}
 	
 	/**
@@ -317,7 +499,10 @@ public class PhysicalLayer implements Serializable {
 		Node sourceNode = null;
 		Node destinationNode = null;
 		Link link = null;
-		HashSet<Circuit> circuitList = null;
+		Set<Circuit> circuitList = null;
+		LinkInterferenceAccumulator accumulator = null;
+		Amplifier preAmp = null;
+		Circuit testCircuitInTheLink = null;
 		
 		double Nl = 0.0; // Number of line amplifiers
 		double noiseNli = 0.0;
@@ -325,7 +510,8 @@ public class PhysicalLayer implements Serializable {
 		double boosterAmpNoiseAse = 0.0;
 		double preAmpNoiseAse = 0.0;
 		double lineAmpNoiseAse = 0.0;
-		double lastFiberSegment = 0.0;
+		
+		updateChangedCircuits();
 		
 		for(int i = sourceNodeIndex; i < destinationNodeIndex; i++){
 			sourceNode = route.getNode(i);
@@ -333,22 +519,46 @@ public class PhysicalLayer implements Serializable {
 			link = sourceNode.getOxc().linkTo(destinationNode.getOxc());
 			Nl = getNumberOfLineAmplifiers(link.getDistance());
 			
-			circuitList = getCircuitList(link, circuit, testCircuit, addTestCircuit);
+			accumulator = getAccumulator(link, circuit, testCircuit);
+			circuitList = null;
+			if(accumulator == null || NLI_VERIFICATION.equals(nliComputation)){
+				circuitList = getCircuitList(link, circuit, testCircuit, addTestCircuit);
+			}
+			
+			testCircuitInTheLink = null;
+			if(accumulator != null && testCircuit != null && testCircuit.getRoute().containThisLink(link)){
+				testCircuitInTheLink = testCircuit;
+			}
 			
 			if(activeNLI){
-				noiseNli = getGnli(circuit, link, circuitPowerLinear, Bsi, I, fi, circuitList); // Computing the NLI for each polarization mode
+				if(accumulator != null){
+					noiseNli = getGnli(Bsi, I, accumulator.getInterference(circuit, fi, testCircuitInTheLink, addTestCircuit)); // Computing the NLI for each polarization mode
+					if(circuitList != null){
+						verifyAccumulatedValue("NLI", link, noiseNli, getGnli(circuit, link, circuitPowerLinear, Bsi, I, fi, circuitList));
+					}
+				}else{
+					noiseNli = getGnli(circuit, link, circuitPowerLinear, Bsi, I, fi, circuitList); // Computing the NLI for each polarization mode
+				}
 				noiseNli = (Nl + 1.0) * noiseNli; // Nl + 1 corresponds to the line amplifiers span more the preamplifier span
 				Inli = Inli + noiseNli;
 			}
 			
 			if(activeASE){
 				if(typeOfAmplifierGain == 1){
-					totalPower = getTotalPowerInTheLink(circuitList, link, circuitPowerLinear, I);
+					if(accumulator != null){
+						totalPower = accumulator.getTotalPower(circuit, testCircuitInTheLink, addTestCircuit, I);
+						if(circuitList != null){
+							verifyAccumulatedValue("total power", link, totalPower, getTotalPowerInTheLink(circuitList, link, circuitPowerLinear, I));
+						}
+					}else{
+						totalPower = getTotalPowerInTheLink(circuitList, link, circuitPowerLinear, I);
+					}
 				}
 				
-				// Computing the last span amplifier gain
-				lastFiberSegment = link.getDistance() - (Nl * L);
-				preAmp.setGain(alpha * lastFiberSegment);
+				preAmp = preAmps.get(link); // Its gain corresponds to the last span of the link
+				if(preAmp == null){ // Link that is not in the mesh
+					preAmp = createPreAmplifier(link);
+				}
 				
 				// Computing the ASE for each amplifier type
 				boosterAmpNoiseAse = boosterAmp.getAseByGain(totalPower, boosterAmp.getGainByType(totalPower, typeOfAmplifierGain));
@@ -371,51 +581,133 @@ public class PhysicalLayer implements Serializable {
 		return SNR;
 	}
 	
+	/**
+	 * Creates the pre amplifier of the link, with the gain of the last span of the link
+	 * 
+	 * @param link Link
+	 * @return Amplifier
+	 */
+	private Amplifier createPreAmplifier(Link link){
+		double lastFiberSegment = link.getDistance() - (getNumberOfLineAmplifiers(link.getDistance()) * L);
+		return new Amplifier(alpha * lastFiberSegment, pSat, NF, h, amplificationFrequency, 0.0, A1, A2);
+	}
+	
 	/**
 	 * Create a list of the circuits that use the link
+	 * The list is a read-only view of the circuits of the link, it is not copied
 	 * 
 	 * @param link Link
 	 * @param circuit Circuit
 	 * @param testCircuit Circuit
 	 * @param addTestCircuit boolean
-	 * @return TreeSet<Circuit>
+	 * @return Set<Circuit>
 	 */
-	private HashSet<Circuit> getCircuitList(Link link, Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
-		HashSet<Circuit> circuitList = new HashSet<Circuit>();
-		
-		for (Circuit circtuiTemp : link.getCircuitList()) {
-			circuitList.add(circtuiTemp);
+	private Set<Circuit> getCircuitList(Link link, Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
+		if(testCircuit != null && !testCircuit.getRoute().containThisLink(link)) {
+			testCircuit = null;
 		}
 		
-		if(!circuitList.contains(circuit)){
-			circuitList.add(circuit);
-		}
+		return new LinkCircuitList(link.getCircuitList(), circuit, testCircuit, addTestCircuit);
+	}
+	
+	/**
+	 * Read-only view of the circuits of a link more the circuit, and more the test circuit if it is added or less it otherwise
+	 */
+	private static class LinkCircuitList extends AbstractSet<Circuit> {
+		
+		private Set<Circuit> linkCircuits;
+		private Circuit removed; // Circuit of the link that is not in the view
+		private Circuit added[]; // Circuits that are not on the link
+		private int numAdded;
 		
-		if(testCircuit != null && testCircuit.getRoute().containThisLink(link)) {
+		private LinkCircuitList(Set<Circuit> linkCircuits, Circuit circuit, Circuit testCircuit, boolean addTestCircuit){
+			this.linkCircuits = linkCircuits;
+			this.added = new Circuit[2];
 			
-			if(!circuitList.contains(testCircuit) && addTestCircuit) {
-				circuitList.add(testCircuit);
+			if(!linkCircuits.contains(circuit)){
+				added[numAdded++] = circuit;
 			}
 			
-			if(circuitList.contains(testCircuit) && !addTestCircuit) {
-				circuitList.remove(testCircuit);
+			if(testCircuit != null) {
+				if(addTestCircuit) {
+					if(!linkCircuits.contains(testCircuit) && !testCircuit.equals(circuit)) {
+						added[numAdded++] = testCircuit;
+					}
+				} else if(linkCircuits.contains(testCircuit)) {
+					removed = testCircuit;
+				} else if(numAdded > 0 && testCircuit.equals(circuit)) {
+					numAdded--;
+				}
+			}
+		}
+		
+		@Override
+		public boolean contains(Object o) {
+			if(removed != null && removed.equals(o)) {
+				return false;
+			}
+			for (int i = 0; i < numAdded; i++) {
+				if(added[i].equals(o)) {
+					return true;
+				}
 			}
+			return linkCircuits.contains(o);
+		}
+		
+		@Override
+		public int size() {
+			return linkCircuits.size() - (removed != null ? 1 : 0) + numAdded;
 		}
 		
-		return circuitList;
+		@Override
+		public Iterator<Circuit> iterator() {
+			return new Iterator<Circuit>() {
+				private Iterator<Circuit> linkIterator = linkCircuits.iterator();
+				private int addedIndex = 0;
+				private Circuit next = findNext();
+				
+				private Circuit findNext() {
+					while (linkIterator.hasNext()) {
+						Circuit circuit = linkIterator.next();
+						if(removed == null || !removed.equals(circuit)) {
+							return circuit;
+						}
+					}
+					if(addedIndex < numAdded) {
+						return added[addedIndex++];
+					}
+					return null;
+				}
+				
+				@Override
+				public boolean hasNext() {
+					return next != null;
+				}
+				
+				@Override
+				public Circuit next() {
+					if(next == null) {
+						throw new NoSuchElementException();
+					}
+					Circuit circuit = next;
+					next = findNext();
+					return circuit;
+				}
+			};
+		}
 	}
 	
 	/**
 	 * Total input power on the link
 	 * 
-	 * @param circuitList HashSet<Circuit>
+	 * @param circuitList Set<Circuit>
 	 * @param link Link
 	 * @param powerI double
 	 * @param Bsi double
 	 * @param I double
 	 * @return double
 	 */
-	public double getTotalPowerInTheLink(HashSet<Circuit> circuitList, Link link, double powerI, double I){
+	public double getTotalPowerInTheLink(Set<Circuit> circuitList, Link link, double powerI, double I){
 		double totalPower = 0.0;
 		double circuitPower = 0.0;
 		//int saj[] = null;
@@ -455,22 +747,10 @@ public class PhysicalLayer implements Serializable {
 	 * @param BsI double
 	 * @param Gi double
 	 * @param fI double
-	 * @param circuitList HashSet<Circuit>
+	 * @param circuitList Set<Circuit>
 	 * @return double
 	 */
-	public double getGnli(Circuit circuitI, Link link, double powerI, double BsI, double Gi, double fI, HashSet<Circuit> circuitList){
-		double beta21 = beta2;
-		if(beta21 < 0.0){
-			beta21 = -1.0 * beta21;
-		}
-		
-		double mi = Gi * (3.0 * gamma * gamma) / (2.0 * Math.PI * alphaLinear * beta21);
-		double ro =  BsI * BsI * (Math.PI * Math.PI * beta21) / (2.0 * alphaLinear);
-		if (ro < 0.0) {
-			ro = -1.0 * ro;
-		}
-		double p1 = Gi * Gi * arcsinh(ro);
-		
+	public double getGnli(Circuit circuitI, Link link, double powerI, double BsI, double Gi, double fI, Set<Circuit> circuitList){
 		double p2 = 0.0;
 		int saJ[] = null;
 		double numOfSlots = 0.0;
@@ -483,6 +763,10 @@ public class PhysicalLayer implements Serializable {
 		double ln = 0.0;
 		double powerJ = powerI; // Power of the circuit j
 		double Gj = Gi; // Power spectral density of the circuit j
+		int positionI = 0;
+		if(lookupTable != null){
+			positionI = lookupTable.getPosition(fI);
+		}
 		
 		for(Circuit circuitJ : circuitList){
 			
@@ -504,24 +788,57 @@ public class PhysicalLayer implements Serializable {
 					Gj = powerJ / Bsj; // Power spectral density of the circuit j calculated according to the required bandwidth
 				}
 				
-				deltaFij = fI - fJ;
-				if(deltaFij < 0.0) {
-					deltaFij = -1.0 * deltaFij;
+				if(lookupTable != null){
+					ln = lookupTable.getInterferenceTerm(Math.abs(positionI - NliLookupTable.getPosition(saJ)), Bsj);
+				}else{
+					deltaFij = fI - fJ;
+					if(deltaFij < 0.0) {
+						deltaFij = -1.0 * deltaFij;
+					}
+					
+					d1 = deltaFij + (Bsj / 2.0);
+					d2 = deltaFij - (Bsj / 2.0);
+					
+					d3 = d1 / d2;
+					if(d3 < 0.0){
+						d3 = -1.0 * d3;
+					}
+					
+					ln = Math.log(d3);
 				}
-				
-				d1 = deltaFij + (Bsj / 2.0);
-				d2 = deltaFij - (Bsj / 2.0);
-				
-				d3 = d1 / d2;
-				if(d3 < 0.0){
-					d3 = -1.0 * d3;
-				}
-				
-				ln = Math.log(d3);
 				p2 += Gj * Gj * ln;
 			}
 		}
 		
+		return getGnli(BsI, Gi, p2);
+	}
+	
+	/**
+	 * Computes the NLI from the interference term (p2) of the other circuits
+	 * 
+	 * @param BsI double
+	 * @param Gi double
+	 * @param p2 double
+	 * @return double
+	 */
+	private double getGnli(double BsI, double Gi, double p2){
+		double beta21 = beta2;
+		if(beta21 < 0.0){
+			beta21 = -1.0 * beta21;
+		}
+		
+		double mi = Gi * (3.0 * gamma * gamma) / (2.0 * Math.PI * alphaLinear * beta21);
+		double ro =  BsI * BsI * (Math.PI * Math.PI * beta21) / (2.0 * alphaLinear);
+		if (ro < 0.0) {
+			ro = -1.0 * ro;
+		}
+		double p1 = 0.0;
+		if(lookupTable != null){
+			p1 = Gi * Gi * lookupTable.getSelfTerm(BsI);
+		}else{
+			p1 = Gi * Gi * arcsinh(ro);
+		}
+		
 		double gnli = mi * (p1 + p2); 
 		return gnli;
 	}
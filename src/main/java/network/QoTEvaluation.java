@@ -0,0 +1,54 @@
+package network;
+
+/**
+ * This class represents the result of the evaluation of the quality of transmission of a circuit.
+ * The evaluation does not change the circuit, its values are set in the circuit with commit
+ * once a decision is made.
+ *
+ * @author Iallen
+ */
+public class QoTEvaluation {
+
+	private double SNR; // dB
+	private boolean QoT;
+
+	/**
+	 * Creates a new instance of QoTEvaluation
+	 *
+	 * @param SNR double - SNR in dB
+	 * @param QoT boolean - True if the QoT is acceptable
+	 */
+	public QoTEvaluation(double SNR, boolean QoT) {
+		this.SNR = SNR;
+		this.QoT = QoT;
+	}
+
+	/**
+	 * Returns the SNR
+	 *
+	 * @return double - SNR in dB
+	 */
+	public double getSNR() {
+		return SNR;
+	}
+
+	/**
+	 * Returns the QoT
+	 *
+	 * @return boolean
+	 */
+	public boolean isQoT() {
+		return QoT;
+	}
+
+	/**
+	 * Sets the SNR and the QoT in the circuit
+	 *
+	 * @param circuit Circuit
+	 */
+	public void commit(Circuit circuit) {
+		circuit.setSNR(SNR);
+		circuit.setQoT(QoT);
+	}
+
+}
@@ -21,7 +21,8 @@ public class RequestGenerator implements Serializable {
   private double arrivedRate;  
   private double incLoad;
   private double atualTimeHours;
-  private  RandGenerator randGenerator;
+  private  RandGenerator randGenerator; // Stream of the arrivals
+  private  RandGenerator holdRandGenerator; // Stream of the holding times
 
   /**
    * Creates a new instance of RequestGenerator
@@ -34,6 +35,22 @@ public class RequestGenerator implements Serializable {
    * @param randGenerator RandGenerator
    */
   public RequestGenerator(Pair pair, double bandwidth, double holdRate, double arrivedRate,double incLoad, RandGenerator randGenerator) {
+    this(pair, bandwidth, holdRate, arrivedRate, incLoad, randGenerator, randGenerator);
+  }
+
+  /**
+   * Creates a new instance of RequestGenerator with separate streams for the arrivals and the holding times,
+   * so the traffic is the same whatever the order in which the numbers are drawn
+   * 
+   * @param pair Pair
+   * @param bandwidth double
+   * @param holdRate double
+   * @param arrivedRate double
+   * @param incLoad double
+   * @param randGenerator RandGenerator - Stream of the arrivals
+   * @param holdRandGenerator RandGenerator - Stream of the holding times
+   */
+  public RequestGenerator(Pair pair, double bandwidth, double holdRate, double arrivedRate,double incLoad, RandGenerator randGenerator, RandGenerator holdRandGenerator) {
     this.pair = pair;
     this.bandwidth = bandwidth;	  
 	this.holdRate = holdRate;
@@ -41,6 +58,7 @@ public class RequestGenerator implements Serializable {
     this.incLoad = incLoad;
     this.atualTimeHours = 0;
     this.randGenerator = randGenerator;
+    this.holdRandGenerator = holdRandGenerator;
   }
 
   /**
@@ -51,18 +69,48 @@ public class RequestGenerator implements Serializable {
    * @param arriveRequest ArriveRequestForConexionListener
    */
   public void scheduleNextRequest(EventMachine em, ArriveRequestForConexionListener arriveRequest) {
-	RequestForConnection rfc = new RequestForConnection();
 	double arriveTimeHours = randGenerator.negexp(arrivedRate);
     atualTimeHours = atualTimeHours + arriveTimeHours;
-    rfc.setTimeOfRequestHours(atualTimeHours);
-    double holdTimeHours = randGenerator.negexp(getHoldRate());
+    RequestForConnection rfc = createRequest(atualTimeHours);
+    Event e = new Event(rfc, arriveRequest, atualTimeHours);
+    em.insert(e);
+  }
+
+  /**
+   * Creates a connection request of this generator arriving at a given instant,
+   * the holding time of the request is drawn here
+   * 
+   * @param timeOfRequestHours double
+   * @return RequestForConnection
+   */
+  public RequestForConnection createRequest(double timeOfRequestHours) {
+	RequestForConnection rfc = new RequestForConnection();
+    rfc.setTimeOfRequestHours(timeOfRequestHours);
+    double holdTimeHours = holdRandGenerator.negexp(getHoldRate());
   	double finalizeTimeHours = rfc.getTimeOfRequestHours() + holdTimeHours;
   	rfc.setTimeOfFinalizeHours(finalizeTimeHours);
     rfc.setPair(pair);
     rfc.setRequiredBandwidth(bandwidth);
     rfc.setRequestGenerator(this);
-    Event e = new Event(rfc, arriveRequest, atualTimeHours);
-    em.insert(e);
+    return rfc;
+  }
+
+  /**
+   * Returns the random generator of the arrivals of this request generator
+   * 
+   * @return RandGenerator
+   */
+  public RandGenerator getRandGenerator() {
+    return randGenerator;
+  }
+
+  /**
+   * Returns the random generator of the holding times of this request generator
+   * 
+   * @return RandGenerator
+   */
+  public RandGenerator getHoldRandGenerator() {
+    return holdRandGenerator;
   }
 
   /**
@@ -0,0 +1,22 @@
+package network;
+
+import simulator.EventMachine;
+import simulator.eventListeners.ArriveRequestForConexionListener;
+
+/**
+ * This interface should be implemented by the sources of connection requests that schedule
+ * the arrivals of the whole network, instead of one arrival for each request generator.
+ *
+ * @author Iallen
+ */
+public interface RequestSourceInterface {
+
+    /**
+     * Schedule the next connection request of the source
+     *
+     * @param em EventMachine
+     * @param arriveRequest ArriveRequestForConexionListener
+     */
+    public void scheduleNextRequest(EventMachine em, ArriveRequestForConexionListener arriveRequest);
+
+}
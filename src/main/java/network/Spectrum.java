@@ -12,7 +12,7 @@ import java.util.TreeSet;
  * 
  * @author Iallen
  */
-public class Spectrum implements Serializable {
+public class Spectrum implements SpectrumInterface {
 	
 	private TreeSet<int[]> freeSpectrumBands; // Represents the free slots bands
 	private int numOfSlots;
@@ -22,6 +22,9 @@ public class Spectrum implements Serializable {
 	private HashMap<Integer, int[]> downGuardBandList;
 	private HashMap<Integer, int[]> upperGuardBandList;
 	
+	private int guardCount[]; // Number of guard bands over each slot
+	private int guardedSlotsTree[]; // Fenwick tree that counts the slots with at least one guard band
+	
 	/**
 	 * Creates a new instance of Spectrum
 	 * 
@@ -42,6 +45,9 @@ public class Spectrum implements Serializable {
 		downGuardBandList = new HashMap<Integer, int[]>();
 		upperGuardBandList = new HashMap<Integer, int[]>();
 		
+		guardCount = new int[numOfSlots + 1];
+		guardedSlotsTree = new int[numOfSlots + 1];
+		
 		usedSlots = 0; 
 	}
 
@@ -71,38 +77,66 @@ public class Spectrum implements Serializable {
 			throw new Exception("Trying to use a slot reserved for a guard band. Spectrum band: " + spectrumBand[0] + " - " + spectrumBand[1]);
 		}
 		
-		for (int freeSpecBand[] : this.freeSpectrumBands) {
-			if(isInInterval(spectrumBand, freeSpecBand)){
-				
-				addGuardBands(spectrumBand, guardBand);
-				
-				freeSpectrumBands.remove(freeSpecBand); // Remove free bands
-				
-				// Create new free bands
-				int newSpecBand[];
-				if(spectrumBand[0] - freeSpecBand[0] != 0){ // Create band of what's left behind
-					newSpecBand = new int[2];
-					newSpecBand[0] = freeSpecBand[0];
-					newSpecBand[1] = spectrumBand[0] - 1;
-					this.freeSpectrumBands.add(newSpecBand);
-				}
-				
-				if(freeSpecBand[1] - spectrumBand[1] != 0){ // Create band of what's left ahead
-					newSpecBand = new int[2];
-					newSpecBand[0] = spectrumBand[1] + 1;
-					newSpecBand[1] = freeSpecBand[1];
-					this.freeSpectrumBands.add(newSpecBand);
-				}
-
-				usedSlots = usedSlots + (spectrumBand[1] - spectrumBand[0] + 1);
-				
-				return true;
-			}			
+		if(occupy(spectrumBand)){
+			addGuardBands(spectrumBand, guardBand);
+			
+			return true;
 		}
 		
 		return false;
 	}
 	
+	/**
+	 * Returns the free spectrum band that contains a given spectrum band, or null if the spectrum band is not free
+	 * 
+	 * @param spectrumBand int[]
+	 * @return int[]
+	 */
+	private int[] freeBandContaining(int spectrumBand[]){
+		int freeSpecBand[] = this.freeSpectrumBands.floor(spectrumBand); // The free bands are disjoint, so only the last one starting before the band can contain it
+		
+		if(freeSpecBand != null && isInInterval(spectrumBand, freeSpecBand)){
+			return freeSpecBand;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Removes a spectrum band from the free spectrum bands, without changing the guard bands
+	 * 
+	 * @param spectrumBand int[]
+	 * @return boolean - False if the spectrum band is not free
+	 */
+	private boolean occupy(int spectrumBand[]){
+		int freeSpecBand[] = freeBandContaining(spectrumBand);
+		if(freeSpecBand == null){
+			return false;
+		}
+		
+		freeSpectrumBands.remove(freeSpecBand); // Remove free bands
+		
+		// Create new free bands
+		int newSpecBand[];
+		if(spectrumBand[0] - freeSpecBand[0] != 0){ // Create band of what's left behind
+			newSpecBand = new int[2];
+			newSpecBand[0] = freeSpecBand[0];
+			newSpecBand[1] = spectrumBand[0] - 1;
+			this.freeSpectrumBands.add(newSpecBand);
+		}
+		
+		if(freeSpecBand[1] - spectrumBand[1] != 0){ // Create band of what's left ahead
+			newSpecBand = new int[2];
+			newSpecBand[0] = spectrumBand[1] + 1;
+			newSpecBand[1] = freeSpecBand[1];
+			this.freeSpectrumBands.add(newSpecBand);
+		}
+		
+		usedSlots = usedSlots + (spectrumBand[1] - spectrumBand[0] + 1);
+		
+		return true;
+	}
+	
 	/**
 	 * Checks whether the first interval is contained in the second
 	 * 
@@ -138,6 +172,16 @@ public class Spectrum implements Serializable {
 		
 		removeGuardBands(spectrumBand, guardBand);
 		
+		release(spectrumBand);
+	}
+	
+	/**
+	 * Adds a spectrum band to the free spectrum bands, merging it with its neighbours, without changing the guard bands
+	 * 
+	 * @param spectrumBand int[]
+	 */
+	private void release(int spectrumBand[]){
+		
 		this.freeSpectrumBands.add(spectrumBand); // Releasing spectrum
 
 		usedSlots = usedSlots - (spectrumBand[1] - spectrumBand[0] + 1);
@@ -171,6 +215,50 @@ public class Spectrum implements Serializable {
 		}
 	}
 	
+	@Override
+	public boolean resizeSpectrum(int spectrumBand[], int newSpectrumBand[], int guardBand) throws Exception {
+		
+		if(newSpectrumBand[0] > newSpectrumBand[1]){
+			throw new Exception("Invalid spectrum band");
+		}
+		
+		removeGuardBands(spectrumBand, guardBand);
+		
+		if (checksCollisionWithGuardBands(newSpectrumBand)) {
+			addGuardBands(spectrumBand, guardBand);
+			throw new Exception("Trying to use a slot reserved for a guard band. Spectrum band: " + newSpectrumBand[0] + " - " + newSpectrumBand[1]);
+		}
+		
+		// Slots of the new band out of the current band
+		int lowerGrowth[] = {newSpectrumBand[0], Math.min(newSpectrumBand[1], spectrumBand[0] - 1)};
+		int upperGrowth[] = {Math.max(newSpectrumBand[0], spectrumBand[1] + 1), newSpectrumBand[1]};
+		
+		if((lowerGrowth[0] <= lowerGrowth[1] && freeBandContaining(lowerGrowth) == null) ||
+		   (upperGrowth[0] <= upperGrowth[1] && freeBandContaining(upperGrowth) == null)){
+			addGuardBands(spectrumBand, guardBand);
+			return false;
+		}
+		
+		// Slots of the current band out of the new band
+		if(spectrumBand[0] < newSpectrumBand[0]){
+			release(new int[]{spectrumBand[0], Math.min(spectrumBand[1], newSpectrumBand[0] - 1)});
+		}
+		if(spectrumBand[1] > newSpectrumBand[1]){
+			release(new int[]{Math.max(spectrumBand[0], newSpectrumBand[1] + 1), spectrumBand[1]});
+		}
+		
+		if(lowerGrowth[0] <= lowerGrowth[1]){
+			occupy(lowerGrowth);
+		}
+		if(upperGrowth[0] <= upperGrowth[1]){
+			occupy(upperGrowth);
+		}
+		
+		addGuardBands(newSpectrumBand, guardBand);
+		
+		return true;
+	}
+	
 	/**
 	 * Add upper and down guard bands in the guard bands list
 	 * 
@@ -197,7 +285,8 @@ public class Spectrum implements Serializable {
 				downGuardBand[0] = 1;
 			}
 			
-			this.downGuardBandList.put(downGuardBand[1], downGuardBand); // Referenced in this way to stay like upper to the free spectrum band
+			reserveGuardBand(downGuardBand);
+			releaseGuardBand(this.downGuardBandList.put(downGuardBand[1], downGuardBand)); // Referenced in this way to stay like upper to the free spectrum band
 		}
 		
 		if (upperGB > 0) { // Check if you need to create the down guard band
@@ -209,7 +298,8 @@ public class Spectrum implements Serializable {
 				upperGuardBand[1] = numOfSlots;
 			}
 			
-			this.upperGuardBandList.put(upperGuardBand[0], upperGuardBand); // Referenced in this way to stay like down to the free spectrum band
+			reserveGuardBand(upperGuardBand);
+			releaseGuardBand(this.upperGuardBandList.put(upperGuardBand[0], upperGuardBand)); // Referenced in this way to stay like down to the free spectrum band
 		}
 	}
 	
@@ -239,7 +329,7 @@ public class Spectrum implements Serializable {
 				downGuardBand[0] = 1;
 			}
 			
-			this.downGuardBandList.remove(downGuardBand[1]); // Removing the reference upper from the free spectrum band
+			releaseGuardBand(this.downGuardBandList.remove(downGuardBand[1])); // Removing the reference upper from the free spectrum band
 		}
 		
 		if (upperGB > 0) { // Check if you need to remove the down guard band
@@ -251,38 +341,80 @@ public class Spectrum implements Serializable {
 				upperGuardBand[1] = numOfSlots;
 			}
 			
-			this.upperGuardBandList.remove(upperGuardBand[0]); // Removing the reference down from the free spectrum band
+			releaseGuardBand(this.upperGuardBandList.remove(upperGuardBand[0])); // Removing the reference down from the free spectrum band
 		}
 	}
 	
 	/**
-	 * Check if the spectrum band to be used by the circuit is not colliding with some guard band
+	 * Increments the guard band counter of the slots of a guard band
 	 * 
-	 * @param spectrumBand[]
-	 * @return boolean
+	 * @param guardBand int[]
 	 */
-	public boolean checksCollisionWithGuardBands(int spectrumBand[]) {
-		int gb[] = null;
-		
-		for(int slotNumber : downGuardBandList.keySet()) {
-			gb = downGuardBandList.get(slotNumber);
-			
-			if ((gb[0] >= spectrumBand[0] && gb[0] <= spectrumBand[1]) || (gb[1] >= spectrumBand[0] && gb[1] <= spectrumBand[1]) ||
-			    (gb[0] <= spectrumBand[0] && gb[1] >= spectrumBand[0]) || (gb[0] <= spectrumBand[1] && gb[1] >= spectrumBand[1])) {
-				return true;
+	private void reserveGuardBand(int guardBand[]) {
+		for (int slot = guardBand[0]; slot <= guardBand[1]; slot++) {
+			if (guardCount[slot]++ == 0) {
+				updateGuardedSlots(slot, 1);
 			}
 		}
-		
-		for(int slotNumber : upperGuardBandList.keySet()) {
-			gb = upperGuardBandList.get(slotNumber);
-			
-			if ((gb[0] >= spectrumBand[0] && gb[0] <= spectrumBand[1]) || (gb[1] >= spectrumBand[0] && gb[1] <= spectrumBand[1]) ||
-			    (gb[0] <= spectrumBand[0] && gb[1] >= spectrumBand[0]) || (gb[0] <= spectrumBand[1] && gb[1] >= spectrumBand[1])) {
-				return true;
+	}
+	
+	/**
+	 * Decrements the guard band counter of the slots of a guard band
+	 * 
+	 * @param guardBand int[] - Guard band removed from the lists, null if there was none
+	 */
+	private void releaseGuardBand(int guardBand[]) {
+		if (guardBand == null) {
+			return;
+		}
+		for (int slot = guardBand[0]; slot <= guardBand[1]; slot++) {
+			if (--guardCount[slot] == 0) {
+				updateGuardedSlots(slot, -1);
 			}
 		}
+	}
+	
+	/**
+	 * Adds a value to a slot in the Fenwick tree of guarded slots
+	 * 
+	 * @param slot int
+	 * @param delta int
+	 */
+	private void updateGuardedSlots(int slot, int delta) {
+		for (int i = slot; i <= numOfSlots; i += i & (-i)) {
+			guardedSlotsTree[i] += delta;
+		}
+	}
+	
+	/**
+	 * Returns the number of slots with some guard band from the first slot to a given slot
+	 * 
+	 * @param slot int
+	 * @return int
+	 */
+	private int countGuardedSlots(int slot) {
+		int count = 0;
+		for (int i = slot; i > 0; i -= i & (-i)) {
+			count += guardedSlotsTree[i];
+		}
+		return count;
+	}
+	
+	/**
+	 * Check if the spectrum band to be used by the circuit is not colliding with some guard band.
+	 * The slots covered by the guard bands of the lists are counted in a Fenwick tree, so the test is made in O(log slots).
+	 * 
+	 * @param spectrumBand[]
+	 * @return boolean
+	 */
+	public boolean checksCollisionWithGuardBands(int spectrumBand[]) {
+		int first = Math.max(spectrumBand[0], 1);
+		int last = Math.min(spectrumBand[1], numOfSlots);
+		if (first > last) {
+			return false;
+		}
 		
-		return false;
+		return countGuardedSlots(last) - countGuardedSlots(first - 1) > 0;
 	}
 	
 	/**
@@ -309,6 +441,33 @@ public class Spectrum implements Serializable {
 	public List<int[]> getFreeSpectrumBands(int guardBand){
 		ArrayList<int[]> res = new ArrayList<>();
 		
+		freeSpectrumBands(guardBand, (firstSlot, lastSlot) -> res.add(new int[]{firstSlot, lastSlot}), null);
+		
+		return res;
+	}
+	
+	@Override
+	public void forEachFreeSpectrumBand(int guardBand, FreeBandConsumer consumer){
+		freeSpectrumBands(guardBand, consumer, null);
+	}
+	
+	@Override
+	public int getFreeSpectrumBands(int guardBand, int bands[]){
+		return freeSpectrumBands(guardBand, null, bands);
+	}
+	
+	/**
+	 * Computes the free spectrum bands checking the guard bands and guard band required for the establishment of a given circuit.
+	 * Each band is passed to the consumer or, if there is no consumer, stored in the buffer.
+	 * 
+	 * @param guardBand int
+	 * @param consumer FreeBandConsumer
+	 * @param bands int[]
+	 * @return int - Number of free spectrum bands
+	 */
+	private int freeSpectrumBands(int guardBand, FreeBandConsumer consumer, int bands[]){
+		int numBands = 0;
+		
 		int numDownGB;
 		int numUpperGB;
 		int downGB[];
@@ -361,15 +520,17 @@ public class Spectrum implements Serializable {
 			if (slotsNumOfFreeSpecBand - (numDownGB + numUpperGB) > 0) {
 				
 				// Creates a new slots band by removing the slots from the guard bands and leaving only the slots free of fact
-				int newfsb[] = new int[2];
-				newfsb[0] = fsb[0] + numDownGB;
-				newfsb[1] = fsb[1] - numUpperGB;
-				
-				res.add(newfsb);
+				if (consumer != null) {
+					consumer.accept(fsb[0] + numDownGB, fsb[1] - numUpperGB);
+				} else {
+					bands[2 * numBands] = fsb[0] + numDownGB;
+					bands[2 * numBands + 1] = fsb[1] - numUpperGB;
+				}
+				numBands++;
 			}
 		}
 		
-		return res;
+		return numBands;
 	}
 	
 	/**
@@ -0,0 +1,117 @@
+package network;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Interface that must be implemented by the models of spectrum occupancy of the links.
+ * The slots are numbered from 1 to the number of slots and the spectrum bands are closed intervals of slots.
+ *
+ * @author Iallen
+ */
+public interface SpectrumInterface extends Serializable {
+
+	/**
+	 * Mark as used a certain spectrum band and reserves its guard bands
+	 * 
+	 * @param spectrumBand int[]
+	 * @param guardBand int
+	 * @return boolean - False if the band is not free
+	 * @throws Exception - If the band is invalid or collides with a guard band
+	 */
+	public boolean useSpectrum(int spectrumBand[], int guardBand) throws Exception;
+
+	/**
+	 * Mark as free a certain spectrum band and releases its guard bands
+	 * 
+	 * @param spectrumBand int[]
+	 * @param guardBand int
+	 * @throws Exception - If the band is invalid or already free
+	 */
+	public void freeSpectrum(int spectrumBand[], int guardBand) throws Exception;
+
+	/**
+	 * Changes the spectrum band used by a circuit, moving its guard bands to the edges of the new band.
+	 * Only the slots that are in one band and not in the other are changed, and nothing is changed if the new slots are not free,
+	 * so a resize can be undone by a resize back to the previous band.
+	 * 
+	 * @param spectrumBand int[] - Band in use
+	 * @param newSpectrumBand int[] - Band to use
+	 * @param guardBand int
+	 * @return boolean - False if some slot of the new band out of the current band is not free
+	 * @throws Exception - If the new band is invalid or collides with a guard band
+	 */
+	public boolean resizeSpectrum(int spectrumBand[], int newSpectrumBand[], int guardBand) throws Exception;
+
+	/**
+	 * Check if the spectrum band to be used by the circuit is not colliding with some guard band
+	 * 
+	 * @param spectrumBand int[]
+	 * @return boolean
+	 */
+	public boolean checksCollisionWithGuardBands(int spectrumBand[]);
+
+	/**
+	 * Returns the free spectrum bands at the moment
+	 * 
+	 * @return List<int[]>
+	 */
+	public List<int[]> getFreeSpectrumBands();
+
+	/**
+	 * Returns the free spectrum bands checking the guard bands and guard band required for the establishment of a given circuit
+	 * 
+	 * @param guardBand int
+	 * @return List<int[]>
+	 */
+	public List<int[]> getFreeSpectrumBands(int guardBand);
+
+	/**
+	 * Visits the free spectrum bands checking the guard bands and guard band required for the establishment of a given circuit.
+	 * The bands are the same returned by getFreeSpectrumBands(guardBand), without creating any object.
+	 * 
+	 * @param guardBand int
+	 * @param consumer FreeBandConsumer
+	 */
+	public void forEachFreeSpectrumBand(int guardBand, FreeBandConsumer consumer);
+
+	/**
+	 * Fills a buffer with the free spectrum bands checking the guard bands and guard band required for the establishment of a given circuit.
+	 * The band i is stored in the positions 2 * i (first slot) and 2 * i + 1 (last slot),
+	 * so a buffer with the number of slots plus one positions is enough for any state of the spectrum.
+	 * 
+	 * @param guardBand int
+	 * @param bands int[]
+	 * @return int - Number of free spectrum bands
+	 */
+	public int getFreeSpectrumBands(int guardBand, int bands[]);
+
+	/**
+	 * Returns the spectrum usage ranging from 0 to 1
+	 * 
+	 * @return double
+	 */
+	public double utilization();
+
+	/**
+	 * Returns the spectrum bandwidth of a slot
+	 * 
+	 * @return double
+	 */
+	public double getSlotSpectrumBand();
+
+	/**
+	 * Returns the number of slots
+	 * 
+	 * @return int
+	 */
+	public int getNumOfSlots();
+
+	/**
+	 * Returns the number of used slots
+	 * 
+	 * @return int
+	 */
+	public int getUsedSlots();
+
+}
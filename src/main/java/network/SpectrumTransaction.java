@@ -0,0 +1,111 @@
+package network;
+
+import java.util.List;
+
+/**
+ * This class represents the change of the spectrum band of a circuit on the links of its route.
+ * The new band is reserved with apply, changing only the slots that differ from the current band,
+ * and the change is confirmed with commit or undone with rollback.
+ *
+ * @author Iallen
+ */
+public class SpectrumTransaction {
+
+	private List<Link> links;
+	private int spectrumBand[];
+	private int newSpectrumBand[];
+	private int guardBand;
+
+	private boolean applied;
+	private boolean finished;
+
+	/**
+	 * Creates a new instance of SpectrumTransaction
+	 *
+	 * @param links List<Link> - Links of the route of the circuit
+	 * @param spectrumBand int[] - Band in use by the circuit
+	 * @param newSpectrumBand int[] - Band to be used by the circuit
+	 * @param guardBand int
+	 */
+	public SpectrumTransaction(List<Link> links, int spectrumBand[], int newSpectrumBand[], int guardBand) {
+		this.links = links;
+		this.spectrumBand = spectrumBand.clone();
+		this.newSpectrumBand = newSpectrumBand.clone();
+		this.guardBand = guardBand;
+	}
+
+	/**
+	 * Reserves the new band on all links.
+	 * If the new band can not be reserved on some link, or its reservation throws an exception,
+	 * the links already changed are restored.
+	 *
+	 * @return boolean - True if the new band was reserved on all links
+	 * @throws Exception
+	 */
+	public boolean apply() throws Exception {
+		if (applied || finished) {
+			throw new IllegalStateException("The spectrum transaction was already applied");
+		}
+
+		int i = 0;
+		try {
+			for (; i < links.size(); i++) {
+				if (!links.get(i).resizeSpectrum(spectrumBand, newSpectrumBand, guardBand)) { // Spectrum already in use
+					restore(i);
+					return false;
+				}
+			}
+		} catch (Exception e) {
+			try {
+				restore(i);
+			} catch (Exception restoreException) {
+				e.addSuppressed(restoreException);
+			}
+			throw e;
+		}
+
+		applied = true;
+		return true;
+	}
+
+	/**
+	 * Restores the previous band on the links before a given link, that were already changed by apply
+	 *
+	 * @param numChangedLinks int
+	 * @throws Exception
+	 */
+	private void restore(int numChangedLinks) throws Exception {
+		for (int i = numChangedLinks - 1; i >= 0; i--) {
+			links.get(i).resizeSpectrum(newSpectrumBand, spectrumBand, guardBand);
+		}
+	}
+
+	/**
+	 * Confirms the new band
+	 */
+	public void commit() {
+		if (!applied || finished) {
+			throw new IllegalStateException("The spectrum transaction is not applied");
+		}
+		finished = true;
+	}
+
+	/**
+	 * Restores the previous band on all links
+	 *
+	 * @throws Exception
+	 */
+	public void rollback() throws Exception {
+		if (!applied || finished) {
+			throw new IllegalStateException("The spectrum transaction is not applied");
+		}
+
+		for (int i = links.size() - 1; i >= 0; i--) {
+			if (!links.get(i).resizeSpectrum(newSpectrumBand, spectrumBand, guardBand)) {
+				throw new Exception("The previous spectrum band can not be restored");
+			}
+		}
+		finished = true;
+	}
+
+}
@@ -0,0 +1,214 @@
+package network;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class validates a model of spectrum against the original Spectrum class.
+ * Each operation is applied on both models and an IllegalStateException is thrown when their results differ.
+ * It is intended for the validation of new models, since all the work is done twice.
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class SpectrumValidator implements SpectrumInterface {
+
+	private SpectrumInterface reference;
+	private SpectrumInterface candidate;
+
+	/**
+	 * Creates a new instance of SpectrumValidator
+	 *
+	 * @param reference SpectrumInterface - Model considered correct
+	 * @param candidate SpectrumInterface - Model validated
+	 */
+	public SpectrumValidator(SpectrumInterface reference, SpectrumInterface candidate) {
+		this.reference = reference;
+		this.candidate = candidate;
+	}
+
+	@Override
+	public boolean useSpectrum(int spectrumBand[], int guardBand) throws Exception {
+		String bandBefore = bandsToString(reference.getFreeSpectrumBands());
+		Exception refException = null;
+		Exception candException = null;
+		boolean refResult = false;
+		boolean candResult = false;
+
+		try {
+			refResult = reference.useSpectrum(spectrumBand.clone(), guardBand);
+		} catch (Exception ex) {
+			refException = ex;
+		}
+		try {
+			candResult = candidate.useSpectrum(spectrumBand.clone(), guardBand);
+		} catch (Exception ex) {
+			candException = ex;
+		}
+
+		compareExceptions("useSpectrum", spectrumBand, refException, candException, bandBefore);
+		if (refResult != candResult) {
+			fail("useSpectrum", spectrumBand, "result " + refResult + " != " + candResult, bandBefore);
+		}
+		compareState("useSpectrum", spectrumBand, guardBand, bandBefore);
+
+		return refResult;
+	}
+
+	@Override
+	public boolean resizeSpectrum(int spectrumBand[], int newSpectrumBand[], int guardBand) throws Exception {
+		String bandBefore = bandsToString(reference.getFreeSpectrumBands());
+		Exception refException = null;
+		Exception candException = null;
+		boolean refResult = false;
+		boolean candResult = false;
+
+		try {
+			refResult = reference.resizeSpectrum(spectrumBand.clone(), newSpectrumBand.clone(), guardBand);
+		} catch (Exception ex) {
+			refException = ex;
+		}
+		try {
+			candResult = candidate.resizeSpectrum(spectrumBand.clone(), newSpectrumBand.clone(), guardBand);
+		} catch (Exception ex) {
+			candException = ex;
+		}
+
+		compareExceptions("resizeSpectrum", newSpectrumBand, refException, candException, bandBefore);
+		if (refResult != candResult) {
+			fail("resizeSpectrum", newSpectrumBand, "result " + refResult + " != " + candResult, bandBefore);
+		}
+		compareState("resizeSpectrum", newSpectrumBand, guardBand, bandBefore);
+
+		return refResult;
+	}
+
+	@Override
+	public void freeSpectrum(int spectrumBand[], int guardBand) throws Exception {
+		String bandBefore = bandsToString(reference.getFreeSpectrumBands());
+		Exception refException = null;
+		Exception candException = null;
+
+		try {
+			reference.freeSpectrum(spectrumBand.clone(), guardBand);
+		} catch (Exception ex) {
+			refException = ex;
+		}
+		try {
+			candidate.freeSpectrum(spectrumBand.clone(), guardBand);
+		} catch (Exception ex) {
+			candException = ex;
+		}
+
+		compareExceptions("freeSpectrum", spectrumBand, refException, candException, bandBefore);
+		compareState("freeSpectrum", spectrumBand, guardBand, bandBefore);
+	}
+
+	@Override
+	public boolean checksCollisionWithGuardBands(int spectrumBand[]) {
+		boolean refResult = reference.checksCollisionWithGuardBands(spectrumBand);
+		if (refResult != candidate.checksCollisionWithGuardBands(spectrumBand)) {
+			fail("checksCollisionWithGuardBands", spectrumBand, "different results", bandsToString(reference.getFreeSpectrumBands()));
+		}
+		return refResult;
+	}
+
+	@Override
+	public List<int[]> getFreeSpectrumBands() {
+		return reference.getFreeSpectrumBands();
+	}
+
+	@Override
+	public List<int[]> getFreeSpectrumBands(int guardBand) {
+		List<int[]> refResult = reference.getFreeSpectrumBands(guardBand);
+		String ref = bandsToString(refResult);
+		String cand = bandsToString(candidate.getFreeSpectrumBands(guardBand));
+		if (!ref.equals(cand)) {
+			throw new IllegalStateException("Spectrum models differ in getFreeSpectrumBands(" + guardBand + "): " + ref + " != " + cand);
+		}
+		return refResult;
+	}
+
+	@Override
+	public void forEachFreeSpectrumBand(int guardBand, FreeBandConsumer consumer) {
+		getFreeSpectrumBands(guardBand); // Compares the models
+		reference.forEachFreeSpectrumBand(guardBand, consumer);
+	}
+
+	@Override
+	public int getFreeSpectrumBands(int guardBand, int bands[]) {
+		getFreeSpectrumBands(guardBand); // Compares the models
+		int numBands = candidate.getFreeSpectrumBands(guardBand, bands);
+		int refBands[] = new int[bands.length];
+		if (reference.getFreeSpectrumBands(guardBand, refBands) != numBands
+				|| !Arrays.equals(Arrays.copyOf(refBands, 2 * numBands), Arrays.copyOf(bands, 2 * numBands))) {
+			throw new IllegalStateException("Spectrum models differ in getFreeSpectrumBands(" + guardBand + ", int[])");
+		}
+		return numBands;
+	}
+
+	/**
+	 * Checks that both models threw an exception or none of them
+	 */
+	private void compareExceptions(String operation, int spectrumBand[], Exception refException, Exception candException, String bandBefore) throws Exception {
+		if ((refException == null) != (candException == null)) {
+			fail(operation, spectrumBand, "exception " + refException + " != " + candException, bandBefore);
+		}
+		if (refException != null) {
+			throw refException;
+		}
+	}
+
+	/**
+	 * Checks that both models have the same free bands and the same number of used slots
+	 */
+	private void compareState(String operation, int spectrumBand[], int guardBand, String bandBefore) {
+		String ref = bandsToString(reference.getFreeSpectrumBands());
+		String cand = bandsToString(candidate.getFreeSpectrumBands());
+		if (!ref.equals(cand)) {
+			fail(operation, spectrumBand, "free bands " + ref + " != " + cand, bandBefore);
+		}
+		ref = bandsToString(reference.getFreeSpectrumBands(guardBand));
+		cand = bandsToString(candidate.getFreeSpectrumBands(guardBand));
+		if (!ref.equals(cand)) {
+			fail(operation, spectrumBand, "free bands with guard band " + ref + " != " + cand, bandBefore);
+		}
+		if (reference.getUsedSlots() != candidate.getUsedSlots()) {
+			fail(operation, spectrumBand, "used slots " + reference.getUsedSlots() + " != " + candidate.getUsedSlots(), bandBefore);
+		}
+	}
+
+	private void fail(String operation, int spectrumBand[], String difference, String bandBefore) {
+		throw new IllegalStateException("Spectrum models differ in " + operation + "(" + spectrumBand[0] + " - " + spectrumBand[1] + "): "
+				+ difference + ". Free bands before: " + bandBefore);
+	}
+
+	private static String bandsToString(List<int[]> bands) {
+		StringBuilder sb = new StringBuilder();
+		for (int band[] : bands) {
+			sb.append('[').append(band[0]).append(',').append(band[1]).append(']');
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public double utilization() {
+		return reference.utilization();
+	}
+
+	@Override
+	public double getSlotSpectrumBand() {
+		return reference.getSlotSpectrumBand();
+	}
+
+	@Override
+	public int getNumOfSlots() {
+		return reference.getNumOfSlots();
+	}
+
+	@Override
+	public int getUsedSlots() {
+		return reference.getUsedSlots();
+	}
+
+}
@@ -0,0 +1,91 @@
+package network;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import request.RequestForConnection;
+import simulator.Event;
+import simulator.EventMachine;
+import simulator.eventListeners.ArriveRequestForConexionListener;
+import util.AliasTable;
+import util.RandGenerator;
+
+/**
+ * This class represents a single arrival source that replaces all the request generators of the network.
+ * The superposition of independent Poisson processes is a Poisson process whose rate is the sum of the rates,
+ * and each arrival belongs to a given generator with probability proportional to its rate.
+ * So only one arrival event is kept pending in the event machine, instead of one for each request generator.
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class SuperposedRequestGenerator implements Serializable, RequestSourceInterface {
+
+    private List<RequestGenerator> generators;
+    private AliasTable aliasTable;
+    private double totalArrivedRate;
+    private double atualTimeHours;
+    private RandGenerator randGenerator;
+
+    /**
+     * Creates a new instance of SuperposedRequestGenerator with the request generators of all pairs
+     *
+     * @param pairs List<Pair>
+     * @param randGenerator RandGenerator
+     */
+    public SuperposedRequestGenerator(List<Pair> pairs, RandGenerator randGenerator) {
+        this.generators = new ArrayList<>();
+        for (Pair pair : pairs) {
+            generators.addAll(pair.getRequestGenerators());
+        }
+
+        double rates[] = new double[generators.size()];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = generators.get(i).getArrivedRate();
+        }
+
+        this.aliasTable = new AliasTable(rates);
+        this.totalArrivedRate = aliasTable.getTotalWeight();
+        this.atualTimeHours = 0;
+        this.randGenerator = randGenerator;
+    }
+
+    /**
+     * Schedule a new connection request, the method will calculate the instant of the next arrival
+     * in the network, choose the request generator of the arrival and schedule the corresponding event
+     *
+     * @param em EventMachine
+     * @param arriveRequest ArriveRequestForConexionListener
+     */
+    @Override
+    public void scheduleNextRequest(EventMachine em, ArriveRequestForConexionListener arriveRequest) {
+        double arriveTimeHours = randGenerator.negexp(totalArrivedRate);
+        atualTimeHours = atualTimeHours + arriveTimeHours;
+
+        RequestGenerator rg = generators.get(aliasTable.sample(randGenerator));
+        RequestForConnection rfc = rg.createRequest(atualTimeHours);
+
+        Event e = new Event(rfc, arriveRequest, atualTimeHours);
+        em.insert(e);
+    }
+
+    /**
+     * Returns the sum of the arrival rates of all request generators
+     *
+     * @return double
+     */
+    public double getTotalArrivedRate() {
+        return totalArrivedRate;
+    }
+
+    /**
+     * Returns the number of request generators
+     *
+     * @return int
+     */
+    public int getNumberOfGenerators() {
+        return generators.size();
+    }
+
+}
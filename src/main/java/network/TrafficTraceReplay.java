@@ -0,0 +1,175 @@
+package network;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import request.RequestForConnection;
+import simulator.Event;
+import simulator.EventMachine;
+import simulator.eventListeners.ArriveRequestForConexionListener;
+
+/**
+ * This class is a source of connection requests that replays a binary traffic trace written by TrafficTraceWriter,
+ * or converted from an external trace to the same format.
+ * The records are read from memory mapped windows of the file, so the trace is not loaded in the heap.
+ * The arrivals are scheduled one at a time, in the order of the file.
+ *
+ * @author Iallen
+ */
+public class TrafficTraceReplay implements RequestSourceInterface {
+
+    private static final int RECORDS_PER_WINDOW = 1 << 20;
+
+    private RandomAccessFile file;
+    private FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowFirstRecord;
+    private long recordsOffset;
+    private long numRecords;
+    private long nextRecord;
+
+    private Pair pairs[][]; // By index of the source and destination nodes in the trace
+    private HashMap<Pair, HashMap<Double, RequestGenerator>> generators;
+
+    /**
+     * Creates a new instance of TrafficTraceReplay
+     *
+     * @param fileName String
+     * @param mesh Mesh
+     * @throws IOException
+     */
+    public TrafficTraceReplay(String fileName, Mesh mesh) throws IOException {
+        this.file = new RandomAccessFile(fileName, "r");
+        this.channel = file.getChannel();
+
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 1 << 20));
+        if (header.getInt() != TrafficTraceWriter.MAGIC) {
+            close();
+            throw new IOException("The file " + fileName + " is not a traffic trace");
+        }
+        int version = header.getInt();
+        if (version != TrafficTraceWriter.VERSION) {
+            close();
+            throw new IOException("Unsupported version of traffic trace: " + version);
+        }
+
+        int numNodes = header.getInt();
+        Node nodes[] = new Node[numNodes];
+        for (int i = 0; i < numNodes; i++) {
+            byte name[] = new byte[header.getInt()];
+            header.get(name);
+            nodes[i] = mesh.searchNode(new String(name, StandardCharsets.UTF_8));
+            if (nodes[i] == null) {
+                close();
+                throw new IllegalArgumentException("The node " + new String(name, StandardCharsets.UTF_8) + " of the traffic trace does not exist in the network");
+            }
+        }
+
+        this.recordsOffset = header.position();
+        this.numRecords = (channel.size() - recordsOffset) / TrafficTraceWriter.RECORD_SIZE;
+        this.nextRecord = 0;
+        this.windowFirstRecord = -1;
+
+        HashMap<String, Pair> pairsByName = new HashMap<>();
+        this.generators = new HashMap<>();
+        for (Pair pair : mesh.getPairList()) {
+            pairsByName.put(pair.getSource().getName() + "-" + pair.getDestination().getName(), pair);
+            HashMap<Double, RequestGenerator> byBandwidth = new HashMap<>();
+            for (RequestGenerator rg : pair.getRequestGenerators()) {
+                byBandwidth.put(rg.getBandwidth(), rg);
+            }
+            generators.put(pair, byBandwidth);
+        }
+        this.pairs = new Pair[numNodes][numNodes];
+        for (int i = 0; i < numNodes; i++) {
+            for (int j = 0; j < numNodes; j++) {
+                pairs[i][j] = pairsByName.get(nodes[i].getName() + "-" + nodes[j].getName());
+            }
+        }
+    }
+
+    /**
+     * Schedule the next request of the trace, nothing is done when the trace is over
+     *
+     * @param em EventMachine
+     * @param arriveRequest ArriveRequestForConexionListener
+     */
+    @Override
+    public void scheduleNextRequest(EventMachine em, ArriveRequestForConexionListener arriveRequest) {
+        if (nextRecord >= numRecords) {
+            return;
+        }
+
+        if (windowFirstRecord < 0 || nextRecord >= windowFirstRecord + RECORDS_PER_WINDOW) {
+            mapWindow(nextRecord);
+        }
+        window.position((int) ((nextRecord - windowFirstRecord) * TrafficTraceWriter.RECORD_SIZE));
+        nextRecord++;
+
+        double timeHours = window.getDouble();
+        double holdTimeHours = window.getDouble();
+        Pair pair = pairs[window.getInt()][window.getInt()];
+        double bandwidth = window.getDouble();
+        if (pair == null) {
+            throw new IllegalArgumentException("The record " + (nextRecord - 1) + " of the traffic trace does not have a valid pair");
+        }
+
+        RequestForConnection rfc = new RequestForConnection();
+        rfc.setTimeOfRequestHours(timeHours);
+        rfc.setTimeOfFinalizeHours(timeHours + holdTimeHours);
+        rfc.setPair(pair);
+        rfc.setRequiredBandwidth(bandwidth);
+        rfc.setRequestGenerator(generators.get(pair).get(bandwidth)); // Null if the traffic file has no generator for this bandwidth
+
+        Event e = new Event(rfc, arriveRequest, timeHours);
+        em.insert(e);
+    }
+
+    /**
+     * Maps the window of the file that starts in a given record
+     *
+     * @param firstRecord long
+     */
+    private void mapWindow(long firstRecord) {
+        long size = Math.min(RECORDS_PER_WINDOW, numRecords - firstRecord) * TrafficTraceWriter.RECORD_SIZE;
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset + firstRecord * TrafficTraceWriter.RECORD_SIZE, size);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error reading the traffic trace", ex);
+        }
+        windowFirstRecord = firstRecord;
+    }
+
+    /**
+     * Returns the number of requests of the trace
+     *
+     * @return long
+     */
+    public long getNumRecords() {
+        return numRecords;
+    }
+
+    /**
+     * Returns the number of requests already scheduled
+     *
+     * @return long
+     */
+    public long getNumScheduled() {
+        return nextRecord;
+    }
+
+    /**
+     * Closes the trace
+     *
+     * @throws IOException
+     */
+    public void close() throws IOException {
+        channel.close();
+        file.close();
+    }
+
+}
@@ -0,0 +1,98 @@
+package network;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+
+import request.RequestForConnection;
+
+/**
+ * This class records the connection requests of a simulation in a binary traffic trace.
+ * The file starts with a header (magic number, version, number of nodes and the name of each node)
+ * followed by fixed size records with the arrival instant, the holding time, the indexes of the
+ * source and destination nodes and the bandwidth of each request, in arrival order.
+ *
+ * @author Iallen
+ */
+public class TrafficTraceWriter {
+
+    public static final int MAGIC = 0x534E5454; // "SNTT"
+    public static final int VERSION = 1;
+    public static final int RECORD_SIZE = 8 + 8 + 4 + 4 + 8;
+
+    private DataOutputStream out;
+    private HashMap<String, Integer> nodeIndexes;
+    private long numRecords;
+
+    /**
+     * Creates a new instance of TrafficTraceWriter and writes the header of the trace
+     *
+     * @param fileName String
+     * @param nodes List<Node>
+     * @throws IOException
+     */
+    public TrafficTraceWriter(String fileName, List<Node> nodes) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16));
+        this.nodeIndexes = new HashMap<>();
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            byte name[] = nodes.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(name.length);
+            out.write(name);
+            nodeIndexes.put(nodes.get(i).getName(), i);
+        }
+    }
+
+    /**
+     * Records a connection request
+     *
+     * @param rfc RequestForConnection
+     * @throws IOException
+     */
+    public void write(RequestForConnection rfc) throws IOException {
+        out.writeDouble(rfc.getTimeOfRequestHours());
+        out.writeDouble(rfc.getTimeOfFinalizeHours() - rfc.getTimeOfRequestHours());
+        out.writeInt(nodeIndexes.get(rfc.getPair().getSource().getName()));
+        out.writeInt(nodeIndexes.get(rfc.getPair().getDestination().getName()));
+        out.writeDouble(rfc.getRequiredBandwidth());
+        numRecords++;
+    }
+
+    /**
+     * Returns the number of requests recorded
+     *
+     * @return long
+     */
+    public long getNumRecords() {
+        return numRecords;
+    }
+
+    /**
+     * Flushes and closes the trace
+     *
+     * @throws IOException
+     */
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Returns the name of the trace file of a given load point and replication
+     *
+     * @param path String - Prefix of the trace files
+     * @param loadPoint int
+     * @param replication int
+     * @return String
+     */
+    public static String getFileName(String path, int loadPoint, int replication) {
+        return path + "_" + loadPoint + "_" + replication + ".trace";
+    }
+
+}
@@ -38,6 +38,7 @@ public class TranslucentCircuit extends Circuit implements Serializable {
 	 */
 	public void setSpectrumAssignedByLink(HashMap<Link, int[]> spectrumAssignedByLink) {
 		this.spectrumAssignedByLink = spectrumAssignedByLink;
+		notifyChange();
 	}
 
 	/**
@@ -52,6 +53,7 @@ public class TranslucentCircuit extends Circuit implements Serializable {
 	 */
 	public void setModulationByLink(HashMap<Link, Modulation> modulationByLink) {
 		this.modulationByLink = modulationByLink;
+		notifyChange();
 	}
 
 	/**
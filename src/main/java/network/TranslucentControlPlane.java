@@ -105,17 +105,19 @@ public class TranslucentControlPlane extends ControlPlane {
 	}
 	
 	/**
-     * This method verifies the quality of the transmission of the circuit
+     * This method evaluates the quality of the transmission of the circuit by transparent segment, without changing the circuit
      * 
      * @param circuit Circuit
+     * @param circuitTemp Circuit
      * @param addCircuitTemp boolean
-     * @return boolean - True, if QoT is acceptable, or false, otherwise
+     * @return QoTEvaluation
      */
 	@Override
-	public boolean computeQualityOfTransmission(Circuit circuit, Circuit circuitTemp, boolean addCircuitTemp){
+	public QoTEvaluation evaluateQualityOfTransmission(Circuit circuit, Circuit circuitTemp, boolean addCircuitTemp){
     	boolean minQoT = true;
 		int sourceNodeIndex = 0;
 		double minSNRdB = Double.MAX_VALUE;
+		QoTEvaluation evaluation = null;
 		Route route = circuit.getRoute();
 		
 		int mumberTransparentSegments = ((TranslucentCircuit)circuit).getRegeneratorsNodesIndexList().size() + 1;
@@ -133,26 +135,20 @@ public class TranslucentControlPlane extends ControlPlane {
 			Modulation mod = circuit.getModulationByLink(link);
 			int sa[] = circuit.getSpectrumAssignedByLink(link);
 			
-			double SNR = getMesh().getPhysicalLayer().computeSNRSegment(circuit, route, sourceNodeIndex, destinationNodeIndex, mod, sa, circuitTemp, addCircuitTemp);
-			double SNRdB = PhysicalLayer.ratioForDB(SNR);
-			
-			boolean QoT = getMesh().getPhysicalLayer().isAdmissible(mod, SNRdB, SNR); 
-			if(!QoT){
+			evaluation = getMesh().getPhysicalLayer().evaluateModulationBySegment(circuit, route, sourceNodeIndex, destinationNodeIndex, mod, sa, circuitTemp, addCircuitTemp);
+			if(!evaluation.isQoT()){
 				minQoT = false;
-				if(SNRdB < minSNRdB)
-				    minSNRdB = SNRdB;
+				if(evaluation.getSNR() < minSNRdB)
+				    minSNRdB = evaluation.getSNR();
 			}
-			circuit.setSNR(SNRdB);
-			circuit.setQoT(QoT);
 			
 			sourceNodeIndex = destinationNodeIndex;
 		}
 		
 		if(!minQoT){
-			circuit.setSNR(minSNRdB);
-			circuit.setQoT(minQoT);
+			return new QoTEvaluation(minSNRdB, minQoT);
 		}
-		return minQoT;
+		return evaluation; // Last segment
     }
 	
 	/**
@@ -3,6 +3,7 @@ package request;
 import network.Circuit;
 import network.Pair;
 import network.RequestGenerator;
+import simulator.Event;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -21,6 +22,7 @@ public class RequestForConnection implements Serializable {
 	protected double timeOfFinalizeHours;
 	protected double requiredBandwidth;
 	protected RequestGenerator rg;
+	protected Event holdEvent; // Event that finalizes the request, used to cancel or reschedule it
 	
 	protected List<Circuit> circuit = new ArrayList<>(); // Circuit that attends this request
 	
@@ -130,4 +132,22 @@ public class RequestForConnection implements Serializable {
 	public void setRequestGenerator(RequestGenerator rg) {
 		this.rg = rg;
 	}
+
+	/**
+	 * Returns the event that finalizes this request
+	 * 
+	 * @return Event
+	 */
+	public Event getHoldEvent() {
+		return holdEvent;
+	}
+
+	/**
+	 * Sets the event that finalizes this request
+	 * 
+	 * @param holdEvent Event
+	 */
+	public void setHoldEvent(Event holdEvent) {
+		this.holdEvent = holdEvent;
+	}
 }
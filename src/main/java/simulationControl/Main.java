@@ -6,6 +6,7 @@ import com.google.firebase.auth.FirebaseCredentials;
 import com.google.firebase.database.*;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import grmlsa.RouteRepository;
 import simulationControl.distributedProcessing.Client;
 import simulationControl.distributedProcessing.ServerM;
 import simulationControl.distributedProcessing.ServerS;
@@ -180,6 +181,9 @@ public class Main {
         SimulationConfig sc = simulationRequest.getSimulationConfig();
         System.out.println("Threads running: " + sc.getThreads());
         
+        // The routes are kept in the folder of the simulation and loaded in the next executions with the same topology
+        RouteRepository.setCacheDirectory(f.getAbsoluteFile());
+        
         //Now start the simulations
         System.out.println("Starting simulations");
         SimulationManagement sm = new SimulationManagement(simulationRequest);
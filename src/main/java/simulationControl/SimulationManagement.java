@@ -8,6 +8,7 @@ import simulationControl.parsers.*;
 import simulationControl.resultManagers.ResultManager;
 import simulator.Simulation;
 import simulator.Simulator;
+import util.RandGenerator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -67,16 +68,34 @@ public class SimulationManagement {
         PhysicalLayerConfig plc = sr.getPhysicalLayerConfig();
         OthersConfig oc = sr.getOthersConfig();
 
+        // The seeds of all replications are derived from the master seed, so the experiment can be reproduced.
+        // With common random numbers the compared configurations must use the same seed, so a fixed one is the default
+        long masterSeed;
+        if (sc.getSeed() != null) {
+            masterSeed = sc.getSeed();
+        } else if (sc.isCommonRandomNumbers()) {
+            masterSeed = SimulationConfig.DEFAULT_SEED;
+        } else {
+            masterSeed = new RandGenerator().nextLong();
+        }
+        System.out.println("Master seed: " + masterSeed);
+
         System.out.println("Calculating the modulations transmission ranges");
-        Mesh meshTemp = new Mesh(nc, tc, plc, oc, null,util);
+        Mesh meshTemp = new Mesh(nc, tc, plc, oc, null, util, new RandGenerator(masterSeed));
 
         // Create list of simulations
         List<List<Simulation>> allSimulations = new ArrayList<>(); // Each element of this set is a list with 10 replications from the same load point
         int i, j;
+        if (sc.isAntitheticReplications() && (sc.isBatchMeans() || sc.getReplications() % 2 != 0)) {
+            throw new IllegalArgumentException("The antithetic replications require an even number of independent replications");
+        }
+
+        // In the batch means mode a single long run is made for each load point and its batches are the replications
+        int numRuns = sc.isBatchMeans() ? 1 : sc.getReplications();
         for (i = 0; i < sc.getLoadPoints(); i++) { // Create the simulations for each load point
             List<Simulation> reps = new ArrayList<>();
-            for (j = 0; j < sc.getReplications(); j++) { // Create the simulations for each replication
-                Mesh m = new Mesh(nc, tc, plc, oc, meshTemp.getModTrDistance(),util);
+            for (j = 0; j < numRuns; j++) { // Create the simulations for each replication
+                Mesh m = new Mesh(nc, tc, plc, oc, meshTemp.getModTrDistance(), util, createRandGenerator(sc, masterSeed, i, j));
                 incArrivedRate(m.getPairList(), i);
                 Simulation s = new Simulation(sc, m, i, j, util);
                 reps.add(s);
@@ -89,6 +108,35 @@ public class SimulationManagement {
         return allSimulations;
     }
 
+    /**
+     * Creates the random generator of a replication.
+     * With common random numbers all load points use the same streams, and with antithetic replications
+     * each odd replication uses the complements of the uniforms of the previous one.
+     *
+     * @param sc SimulationConfig
+     * @param masterSeed long
+     * @param loadPoint int
+     * @param replication int
+     * @return RandGenerator
+     */
+    private static RandGenerator createRandGenerator(SimulationConfig sc, long masterSeed, int loadPoint, int replication) {
+        int stream = replication;
+        boolean antithetic = false;
+        if (sc.isAntitheticReplications()) {
+            stream = replication / 2;
+            antithetic = (replication % 2 == 1);
+        }
+
+        long seed;
+        if (sc.isCommonRandomNumbers()) {
+            seed = RandGenerator.deriveSeed(masterSeed, stream);
+        } else {
+            seed = RandGenerator.deriveSeed(masterSeed, loadPoint, stream);
+        }
+
+        return new RandGenerator(seed, antithetic);
+    }
+
     /**
      * This method sets the loading point of the simulation in each request generator
      *
@@ -139,7 +187,7 @@ public class SimulationManagement {
 
         executor.shutdown();
 
-        ResultManager rm = new ResultManager(mainMeasuremens);
+        ResultManager rm = new ResultManager(mainMeasuremens, simulationRequest.getSimulationConfig().isAntitheticReplications());
         simulationRequest.setResult(rm.getResults());
         simulationProgressListener.onSimulationFinished();
     }
@@ -74,7 +74,7 @@ public class ServerM extends UnicastRemoteObject implements ServerMInterface {
             cpci.updateProgress(progress);
         }
 
-        ResultManager sm = new ResultManager(mainMeasuremens);
+        ResultManager sm = new ResultManager(mainMeasuremens, sr.getSimulationConfig().isAntitheticReplications());
         sr.setResult(sm.getResults());
 
         return gson.toJson(sr);
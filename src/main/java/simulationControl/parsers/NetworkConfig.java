@@ -17,6 +17,7 @@ public class NetworkConfig {
     private List<ModulationConfig> modulations = new ArrayList<>();
     private int guardBand = 1;
     private int bvtSpectralAmplitude = 1000;
+    private String spectrumModel; // Model of spectrum occupancy of the links, see Link.instantiateSpectrum
 
     /**
      * Returns the list of modulations
@@ -72,6 +73,24 @@ public class NetworkConfig {
         this.links = links;
     }
 
+    /**
+     * Returns the model of spectrum occupancy of the links
+     * 
+     * @return String
+     */
+    public String getSpectrumModel() {
+        return spectrumModel;
+    }
+
+    /**
+     * Sets the model of spectrum occupancy of the links
+     * 
+     * @param spectrumModel String
+     */
+    public void setSpectrumModel(String spectrumModel) {
+        this.spectrumModel = spectrumModel;
+    }
+
     /**
      * Returns the guard band
      * 
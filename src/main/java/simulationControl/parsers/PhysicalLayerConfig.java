@@ -40,6 +40,10 @@ public class PhysicalLayerConfig {
 	
 	private double polarizationModes; // Number of polarization modes
 	
+	private String nliComputation; // Way to compute the NLI and the total power of the links, see the constants of PhysicalLayer
+	private double nliSpectralWindow; // Hz, maximum distance between the central frequencies of a circuit and its interferers in the window computation
+	private boolean nliLookupTables; // To take the terms of the NLI from tables shared by the simulations, see NliLookupTable
+	
 	/**
 	 * @return the activeQoT
 	 */
@@ -318,4 +322,40 @@ public class PhysicalLayerConfig {
 	public void setPolarizationModes(double polarizationModes) {
 		this.polarizationModes = polarizationModes;
 	}
+	/**
+	 * @return the nliComputation
+	 */
+	public String getNliComputation() {
+		return nliComputation;
+	}
+	/**
+	 * @param nliComputation the nliComputation to set
+	 */
+	public void setNliComputation(String nliComputation) {
+		this.nliComputation = nliComputation;
+	}
+	/**
+	 * @return the nliSpectralWindow
+	 */
+	public double getNliSpectralWindow() {
+		return nliSpectralWindow;
+	}
+	/**
+	 * @param nliSpectralWindow the nliSpectralWindow to set
+	 */
+	public void setNliSpectralWindow(double nliSpectralWindow) {
+		this.nliSpectralWindow = nliSpectralWindow;
+	}
+	/**
+	 * @return the nliLookupTables
+	 */
+	public boolean isNliLookupTables() {
+		return nliLookupTables;
+	}
+	/**
+	 * @param nliLookupTables the nliLookupTables to set
+	 */
+	public void setNliLookupTables(boolean nliLookupTables) {
+		this.nliLookupTables = nliLookupTables;
+	}
 }
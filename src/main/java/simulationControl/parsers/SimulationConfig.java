@@ -20,9 +20,20 @@ public class SimulationConfig {
     private int loadPoints;
     private int replications;
     private Metrics activeMetrics = new Metrics();
+    private StoppingRule stoppingRule = new StoppingRule();
     private String regeneratorAssignment;
     private int networkType;
     private int threads = 1;
+    private String eventQueue;
+    private boolean superposedArrivals = false;
+    private String transientDetection;
+    private boolean batchMeans = false;
+    private Long seed;
+    private TrafficTrace trafficTrace = new TrafficTrace();
+    private boolean commonRandomNumbers = false;
+    private boolean antitheticReplications = false;
+
+    public static final long DEFAULT_SEED = 0L;
 
     public static class Metrics implements Serializable {
 
@@ -39,6 +50,36 @@ public class SimulationConfig {
         public boolean GroomingStatistics = true;
     }
 
+    /**
+     * Sequential stopping rule, the replication ends when the confidence interval of the blocking probability,
+     * computed by batch means, reaches the relative half-width desired.
+     * The number of requests is counted after the transient phase.
+     */
+    public static class StoppingRule implements Serializable {
+
+        public boolean active = false;
+        public double relativeHalfWidth = 0.05; // Half-width of the confidence interval divided by the mean
+        public double confidence = 0.95;
+        public int batchSize = 1000; // Number of requests of each batch
+        public int minBatches = 10;
+        public int minRequests = 0; // If zero, the number of requests of the simulation is used
+        public int maxRequests = 0; // If zero, ten times the number of requests of the simulation is used
+        public boolean bandwidthBlockingProbability = false; // Also requires the precision of the bandwidth blocking probability
+    }
+
+    /**
+     * Recording or replay of binary traffic traces.
+     * The trace of each load point and replication is the file path_loadPoint_replication.trace
+     */
+    public static class TrafficTrace implements Serializable {
+
+        public static final String RECORD = "record";
+        public static final String REPLAY = "replay";
+
+        public String mode; // Null or empty if the traffic is generated without recording
+        public String path; // Prefix of the trace files
+    }
+
     /**
      * Returns the minimum number of requests
      * 
@@ -219,6 +260,24 @@ public class SimulationConfig {
         this.activeMetrics = activeMetrics;
     }
 
+    /**
+     * Returns the sequential stopping rule configuration
+     * 
+     * @return StoppingRule
+     */
+    public StoppingRule getStoppingRule() {
+        return stoppingRule;
+    }
+
+    /**
+     * Sets the sequential stopping rule configuration
+     * 
+     * @param stoppingRule StoppingRule
+     */
+    public void setStoppingRule(StoppingRule stoppingRule) {
+        this.stoppingRule = stoppingRule;
+    }
+
 	/**
 	 * Returns the regenerators assignment algorithm
 	 * 
@@ -262,4 +321,150 @@ public class SimulationConfig {
     public void setThreads(int threads) {
         this.threads = threads;
     }
+
+    /**
+     * Returns the event queue used by the event machine
+     * 
+     * @return String
+     */
+    public String getEventQueue() {
+        return eventQueue;
+    }
+
+    /**
+     * Sets the event queue used by the event machine
+     * 
+     * @param eventQueue String
+     */
+    public void setEventQueue(String eventQueue) {
+        this.eventQueue = eventQueue;
+    }
+
+    /**
+     * Returns whether the arrivals of all request generators are produced by a single superposed source
+     * 
+     * @return boolean
+     */
+    public boolean isSuperposedArrivals() {
+        return superposedArrivals;
+    }
+
+    /**
+     * Sets whether the arrivals of all request generators are produced by a single superposed source
+     * 
+     * @param superposedArrivals boolean
+     */
+    public void setSuperposedArrivals(boolean superposedArrivals) {
+        this.superposedArrivals = superposedArrivals;
+    }
+
+    /**
+     * Returns the method used to determine the end of the transient phase
+     * 
+     * @return String
+     */
+    public String getTransientDetection() {
+        return transientDetection;
+    }
+
+    /**
+     * Sets the method used to determine the end of the transient phase
+     * 
+     * @param transientDetection String
+     */
+    public void setTransientDetection(String transientDetection) {
+        this.transientDetection = transientDetection;
+    }
+
+    /**
+     * Returns whether each load point is simulated in a single long run divided in batches, 
+     * the number of batches is the number of replications and the size of each batch is the number of requests
+     * 
+     * @return boolean
+     */
+    public boolean isBatchMeans() {
+        return batchMeans;
+    }
+
+    /**
+     * Sets whether each load point is simulated in a single long run divided in batches
+     * 
+     * @param batchMeans boolean
+     */
+    public void setBatchMeans(boolean batchMeans) {
+        this.batchMeans = batchMeans;
+    }
+
+    /**
+     * Returns the master seed of the random streams, or null if the streams are not reproducible
+     * 
+     * @return Long
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the master seed of the random streams
+     * 
+     * @param seed Long
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns whether the traffic streams are common to all load points and to all configurations compared with the same seed
+     * 
+     * @return boolean
+     */
+    public boolean isCommonRandomNumbers() {
+        return commonRandomNumbers;
+    }
+
+    /**
+     * Sets whether the traffic streams are common to all load points and to all configurations compared with the same seed
+     * 
+     * @param commonRandomNumbers boolean
+     */
+    public void setCommonRandomNumbers(boolean commonRandomNumbers) {
+        this.commonRandomNumbers = commonRandomNumbers;
+    }
+
+    /**
+     * Returns whether the replications are made in antithetic pairs, which requires an even number of replications.
+     * The result files have a column with the mean of each pair, the observations to be used in the confidence interval
+     * 
+     * @return boolean
+     */
+    public boolean isAntitheticReplications() {
+        return antitheticReplications;
+    }
+
+    /**
+     * Sets whether the replications are made in antithetic pairs
+     * 
+     * @param antitheticReplications boolean
+     */
+    public void setAntitheticReplications(boolean antitheticReplications) {
+        this.antitheticReplications = antitheticReplications;
+    }
+
+    /**
+     * Returns the traffic trace configuration
+     * 
+     * @return TrafficTrace
+     */
+    public TrafficTrace getTrafficTrace() {
+        return trafficTrace;
+    }
+
+    /**
+     * Sets the traffic trace configuration
+     * 
+     * @param trafficTrace TrafficTrace
+     */
+    public void setTrafficTrace(TrafficTrace trafficTrace) {
+        this.trafficTrace = trafficTrace;
+    }
 }
@@ -6,6 +6,7 @@ import java.util.List;
 
 import measurement.BlockingProbability;
 import measurement.Measurement;
+import measurement.SequentialStoppingRule;
 import network.Pair;
 import simulationControl.Util;
 
@@ -76,6 +77,11 @@ public class BlockingProbResultManager implements ResultManagerInterface {
 		res.append(resultGeneralOther());
 		res.append("\n\n");
 		
+		if(bps.get(loadPoints.get(0)).get(replications.get(0)).getStoppingRule() != null){
+			res.append(resultPrecision());
+			res.append("\n\n");
+		}
+		
 		res.append(resultPair());
 		res.append("\n\n");
 		res.append(resultBandwidth());
@@ -205,6 +211,47 @@ public class BlockingProbResultManager implements ResultManagerInterface {
 		return res.toString();
 	}
 
+	/**
+	 * Returns the precision reached by the sequential stopping rule
+	 * 
+	 * @return String
+	 */
+	private String resultPrecision(){
+		StringBuilder res = new StringBuilder();
+		double confidence = bps.get(loadPoints.get(0)).get(replications.get(0)).getStoppingRule().getConfidence();
+		
+		for (Integer loadPoint : loadPoints) {
+			res.append("Blocking probability relative half-width (" + (confidence * 100.0) + "%)" + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + bps.get(loadPoint).get(replic).getStoppingRule().getBlockingRelativeHalfWidth());
+			}
+			res.append("\n");
+		}
+		for (Integer loadPoint : loadPoints) {
+			res.append("Bandwidth blocking probability relative half-width (" + (confidence * 100.0) + "%)" + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + bps.get(loadPoint).get(replic).getStoppingRule().getBandwidthBlockingRelativeHalfWidth());
+			}
+			res.append("\n");
+		}
+		for (Integer loadPoint : loadPoints) {
+			res.append("Number of requests" + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
+			for (Integer replic : replications) {
+				res.append(sep + bps.get(loadPoint).get(replic).getStoppingRule().getNumRequests());
+			}
+			res.append("\n");
+		}
+		for (Integer loadPoint : loadPoints) {
+			res.append("Precision reached" + sep + loadPoint + sep + "all" + sep + "all" + sep + "all" + sep + " ");
+			for (Integer replic : replications) {
+				SequentialStoppingRule sr = bps.get(loadPoint).get(replic).getStoppingRule();
+				res.append(sep + sr.isConverged());
+			}
+			res.append("\n");
+		}
+		return res.toString();
+	}
+
 	/**
 	 * Returns the blocking probability per pair
 	 * 
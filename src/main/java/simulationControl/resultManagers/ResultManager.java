@@ -5,16 +5,36 @@ import measurement.Measurements;
 import simulationControl.parsers.SimulationRequest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * This class compile the results of a simulation.
  */
 public class ResultManager {
+    private static final String SEP = ",";
+    private static final String HEADER = "Metrics"; // First column of the header lines of the result files
+
     private List<List<Measurements>> mainMeasuremens;
 
+    /**
+     * Indicates whether the replications were made in antithetic pairs (0 and 1, 2 and 3, ...)
+     */
+    private boolean antitheticPairs;
+
     public ResultManager(List<List<Measurements>> mainMeasuremens) {
+        this(mainMeasuremens, false);
+    }
+
+    /**
+     * Creates a new instance of ResultManager
+     *
+     * @param mainMeasuremens List<List<Measurements>>
+     * @param antitheticPairs boolean - if true, the mean of each antithetic pair of replications is added to the results
+     */
+    public ResultManager(List<List<Measurements>> mainMeasuremens, boolean antitheticPairs) {
         this.mainMeasuremens = mainMeasuremens;
+        this.antitheticPairs = antitheticPairs;
     }
 
     public SimulationRequest.Result getResults(){
@@ -32,44 +52,111 @@ public class ResultManager {
                 List<Measurement> lms = new ArrayList<Measurement>();
                 llms.add(lms);
                 for (Measurements measurements : listMeasurements) {
-                    lms.add(measurements.getMetrics().get(m));
+                    for (List<Measurement> batch : measurements.getBatchesMetrics()) { // In the batch means mode each batch is a replication
+                        lms.add(batch.get(m));
+                    }
                 }
             }
 
+            String result = metric.result(llms);
+            if (antitheticPairs) {
+                result = addPairMeans(metric.getFileName(), result);
+            }
+
             switch (metric.getFileName()){
                 case SimulationRequest.Result.FILE_BANDWIDTH_BLOCKING_PROBABILITY:
-                    r.bandwidthBlockingProbability = metric.result(llms);
+                    r.bandwidthBlockingProbability = result;
                     break;
                 case SimulationRequest.Result.FILE_BLOCKING_PROBABILITY:
-                    r.blockingProbability = metric.result(llms);
+                    r.blockingProbability = result;
                     break;
                 case SimulationRequest.Result.FILE_CONSUMEDEN_ERGY:
-                    r.consumedEnergy = metric.result(llms);
+                    r.consumedEnergy = result;
                     break;
                 case SimulationRequest.Result.FILE_EXTERNAL_FRAGMENTATION:
-                    r.externalFragmentation = metric.result(llms);
+                    r.externalFragmentation = result;
                     break;
                 case SimulationRequest.Result.FILE_GROOMING_STATISTICS:
-                    r.groomingStatistics = metric.result(llms);
+                    r.groomingStatistics = result;
                     break;
                 case SimulationRequest.Result.FILE_MODULATION_UTILIZATION:
-                    r.modulationUtilization = metric.result(llms);
+                    r.modulationUtilization = result;
                     break;
                 case SimulationRequest.Result.FILE_RELATIVE_FRAGMENTATION:
-                    r.relativeFragmentation = metric.result(llms);
+                    r.relativeFragmentation = result;
                     break;
                 case SimulationRequest.Result.FILE_SPECTRUM_STATISTICS:
-                    r.spectrumStatistics = metric.result(llms);
+                    r.spectrumStatistics = result;
                     break;
                 case SimulationRequest.Result.FILE_SPECTRUM_UTILIZATION:
-                    r.spectrumUtilization = metric.result(llms);
+                    r.spectrumUtilization = result;
                     break;
                 case SimulationRequest.Result.FILE_TRANSMITTERS_RECEIVERS_REGENERATORS_UTILIZATION:
-                    r.transmittersReceiversRegeneratorsUtilization = metric.result(llms);
+                    r.transmittersReceiversRegeneratorsUtilization = result;
             }
         }
 
         return r;
     }
 
+    /**
+     * Adds to each line of a result file a column with the mean of each antithetic pair of replications.
+     * The replications of a pair are not independent, so the pair means are the independent observations
+     * that must be used in the confidence intervals.
+     * The result must follow the layout of the result files described in ResultManagerInterface.
+     *
+     * @param fileName String
+     * @param result String
+     * @return String
+     */
+    private static String addPairMeans(String fileName, String result) {
+        StringBuilder res = new StringBuilder();
+        String lines[] = result.split("\n", -1);
+        int numReplications = -1; // Of the current header
+        for (int l = 0; l < lines.length; l++) {
+            if (l > 0) {
+                res.append("\n");
+            }
+            res.append(lines[l]);
+
+            String columns[] = lines[l].split(SEP, -1);
+            int first = Arrays.asList(columns).indexOf(" ") + 1;
+            if (first == 0) {
+                continue;
+            }
+
+            boolean header = columns[0].equals(HEADER);
+            if (header) {
+                numReplications = columns.length - first;
+            } else if (numReplications != columns.length - first) {
+                throw new IllegalStateException("The line " + (l + 1) + " of the result " + fileName + " does not match the columns of its header");
+            }
+
+            for (int rep = first; rep + 1 < columns.length; rep += 2) {
+                res.append(SEP);
+                if (header) {
+                    res.append("pair").append((rep - first) / 2);
+                } else {
+                    res.append(pairMean(columns[rep], columns[rep + 1]));
+                }
+            }
+        }
+        return res.toString();
+    }
+
+    /**
+     * Returns the mean of the values of the replications of a pair, or an empty text if they are not numbers
+     *
+     * @param value1 String
+     * @param value2 String
+     * @return String
+     */
+    private static String pairMean(String value1, String value2) {
+        try {
+            return String.valueOf((Double.parseDouble(value1) + Double.parseDouble(value2)) / 2.0);
+        } catch (NumberFormatException e) {
+            return "";
+        }
+    }
+
 }
@@ -8,6 +8,16 @@ import measurement.Measurement;
 
 /**
  * Interface that must be implemented by the classes that generate the result files of the performance metrics.
+ * <p>
+ * The result files are comma separated and follow the layout below, which ResultManager relies on to add the
+ * mean of each pair of antithetic replications:
+ * <ul>
+ * <li>A header line starts with the column "Metrics" and has the names of the description columns, a column
+ * with a single space and then one column per replication ("rep0", "rep1", ...).</li>
+ * <li>A data line is under a header and has the description columns, a column with a single space and then
+ * one value per replication, in the order of the header.</li>
+ * <li>Any other line, as the blank lines between sections, has no column with a single space.</li>
+ * </ul>
  * 
  * @author Alexandre
  */
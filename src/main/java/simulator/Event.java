@@ -10,12 +10,13 @@ import java.io.Serializable;
  * @author Iallen
  */
 @SuppressWarnings("serial")
-public class Event implements Serializable {
+public class Event implements Serializable, Comparable<Event> {
 
     private Object object;
     private EventListener eventListener;
     private double timeHours;
     private double id;
+    private int queueIndex = -1; // Position of the event in the event queue, -1 when the event is not scheduled
 
     /**
      * Build an event.
@@ -48,6 +49,35 @@ public class Event implements Serializable {
         return id;
     }
     
+    /**
+     * Returns the position of the event in the event queue.
+     * Returns -1 if the event is not scheduled.
+     * 
+     * @return int
+     */
+    public int getQueueIndex() {
+        return queueIndex;
+    }
+
+    /**
+     * Sets the position of the event in the event queue.
+     * This value must only be changed by the event queues.
+     * 
+     * @param queueIndex int
+     */
+    public void setQueueIndex(int queueIndex) {
+        this.queueIndex = queueIndex;
+    }
+
+    /**
+     * Returns whether the event is scheduled in an event queue
+     * 
+     * @return boolean
+     */
+    public boolean isScheduled() {
+        return queueIndex != -1;
+    }
+
     /**
      * Returns who is the event listener.
      *
@@ -66,6 +96,16 @@ public class Event implements Serializable {
         return this.timeHours;
     }
 
+    /**
+     * Configures the time the event will be triggered in hours.
+     * The event must not be scheduled when its time is changed.
+     *
+     * @param timeHours double
+     */
+    void setTimeHours(double timeHours) {
+        this.timeHours = timeHours;
+    }
+
     /**
      * Returns the Object associated with the event.
      *
@@ -84,5 +124,21 @@ public class Event implements Serializable {
         this.object = x;
     }
 
+    /**
+     * Compares two events by the time they will be triggered.
+     * Events with the same time are ordered by their identifier, that is, by the insertion order.
+     *
+     * @param e Event
+     * @return int
+     */
+    @Override
+    public int compareTo(Event e) {
+        int res = Double.compare(this.timeHours, e.timeHours);
+        if (res == 0) {
+            res = Double.compare(this.id, e.id);
+        }
+        return res;
+    }
+
 }
 
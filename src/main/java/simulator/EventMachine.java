@@ -1,42 +1,111 @@
 package simulator;
 
 import network.Circuit;
+import request.RequestForConnection;
+import simulator.eventQueue.CalendarEventQueue;
+import simulator.eventQueue.DaryHeapEventQueue;
+import simulator.eventQueue.EventQueueInterface;
+import simulator.eventQueue.LinearEventQueue;
 
 import java.io.Serializable;
-import java.util.Vector;
 
 /**
  * This class represents the simulator event machine.
  * It is responsible for managing the events that are created during a simulation.
- * 
+ *
  * @author Iallen
  */
 @SuppressWarnings("serial")
 public class EventMachine implements Serializable {
-	
-    private Vector<Event> eventList;
+
+    // Constants for indication of the event queue
+    public static final String EVENT_QUEUE_LINEAR = "linear";
+    public static final String EVENT_QUEUE_BINARYHEAP = "binaryheap";
+    public static final String EVENT_QUEUE_QUATERNARYHEAP = "quaternaryheap";
+    public static final String EVENT_QUEUE_CALENDAR = "calendar";
+
+    private EventQueueInterface eventList;
     private double countEvent = 0;
 
     /**
-     * Creates a new instance of EventMachine
+     * Creates a new instance of EventMachine with the default event queue
      */
     public EventMachine() {
-        this.eventList = new Vector<Event>();
+        this(null);
+    }
+
+    /**
+     * Creates a new instance of EventMachine
+     *
+     * @param eventQueueType String
+     */
+    public EventMachine(String eventQueueType) {
+        this.eventList = instantiateEventQueue(eventQueueType);
+    }
+
+    /**
+     * Instance the event queue
+     *
+     * @param eventQueueType String
+     * @return EventQueueInterface
+     */
+    public static EventQueueInterface instantiateEventQueue(String eventQueueType) {
+        if(eventQueueType == null) eventQueueType = "";
+
+        switch (eventQueueType) {
+            case EVENT_QUEUE_LINEAR:
+                return new LinearEventQueue();
+            case EVENT_QUEUE_BINARYHEAP:
+                return new DaryHeapEventQueue(2);
+            case "":
+            case EVENT_QUEUE_QUATERNARYHEAP:
+                return new DaryHeapEventQueue(4);
+            case EVENT_QUEUE_CALENDAR:
+                return new CalendarEventQueue();
+            default:
+                throw new IllegalArgumentException("Unknown event queue: " + eventQueueType);
+        }
     }
 
     /**
      * Inserts an event in the event machine.
+     * The event itself is the handle that can be used to cancel or reschedule it.
      *
      * @param e Event
+     * @return Event
      */
-    public void insert(Event e) {
+    public Event insert(Event e) {
         e.setId(this.countEvent);
         this.countEvent++;
-        int i = 0;
-        while (i < eventList.size() && (eventList.elementAt(i)).getTimeHours() < e.getTimeHours()) {
-            i++;
+        eventList.add(e);
+        return e;
+    }
+
+    /**
+     * Cancels a scheduled event.
+     * With the heap and calendar queues this costs O(log n) and O(1), respectively.
+     *
+     * @param e Event
+     * @return boolean - True if the event was scheduled and has been cancelled
+     */
+    public boolean cancel(Event e) {
+        if (e == null || !e.isScheduled()) {
+            return false;
         }
-        eventList.insertElementAt(e, i);
+        return eventList.remove(e);
+    }
+
+    /**
+     * Changes the time a scheduled event will be triggered.
+     * The event is scheduled again if it had already been removed from the event machine.
+     *
+     * @param e Event
+     * @param timeHours double
+     */
+    public void reschedule(Event e, double timeHours) {
+        cancel(e);
+        e.setTimeHours(timeHours);
+        insert(e);
     }
 
     /**
@@ -44,9 +113,8 @@ public class EventMachine implements Serializable {
      * The event machine runs until there are no more events in the eventList.
      */
     public void executeEvents() throws Exception {
-        while (eventList.size() > 0) {
-            Event e = eventList.firstElement();
-            eventList.removeElementAt(0);
+        Event e;
+        while ((e = eventList.poll()) != null) {
             e.listener().execute(e);
         }
     }
@@ -64,23 +132,28 @@ public class EventMachine implements Serializable {
      * Ends the event machine (clear eventList).
      */
     public void stopMachine() {
-        this.eventList.removeAllElements();
+        this.eventList.clear();
     }
 
     /**
-     * Remove the event that contains the request.
+     * Remove the events that finalize the requests served by the circuit.
      *
-     * @param request Circuit
+     * @param circuit Circuit
      */
-    public void remove(Circuit request) {
-        for (int i = 0; i < this.eventList.size(); i++) {
-            Event event = this.eventList.get(i);
-            if (event.getObject() instanceof Circuit)
-                if (event.getObject() == request) {
-                    this.eventList.remove(event);
-                    break;
-                }
+    public void remove(Circuit circuit) {
+        for (RequestForConnection rfc : circuit.getRequests()) {
+            remove(rfc);
         }
     }
-}
 
+    /**
+     * Remove the event that finalizes the request.
+     *
+     * @param request RequestForConnection
+     */
+    public void remove(RequestForConnection request) {
+        if (cancel(request.getHoldEvent())) {
+            request.setHoldEvent(null);
+        }
+    }
+}
@@ -25,6 +25,9 @@ public class Simulation implements Serializable {
 
     private int loadPoint;
     private int replication;
+    private String eventQueueType;
+    private boolean superposedArrivals;
+    private SimulationConfig.TrafficTrace trafficTrace;
 
     /**
      * Creates a new instance of Simulation
@@ -38,9 +41,12 @@ public class Simulation implements Serializable {
     public Simulation(SimulationConfig sc, Mesh mesh, int loadPoint, int replication, Util util){
         this.loadPoint = loadPoint;
         this.replication = replication;
-        this.measurements = new Measurements(sc.getRequests(), loadPoint, replication, mesh, sc.getActiveMetrics());
+        this.measurements = new Measurements(sc, loadPoint, replication, mesh);
         this.mesh = mesh;
         this.util = util;
+        this.eventQueueType = sc.getEventQueue();
+        this.superposedArrivals = sc.isSuperposedArrivals();
+        this.trafficTrace = sc.getTrafficTrace();
         GRMLSA grmlsa = new GRMLSA(sc.getGrooming(),sc.getIntegratedRmlsa(),sc.getRouting(),sc.getModulationSelection(),sc.getSpectrumAssignment(), sc.getRegeneratorAssignment());
         
         if(sc.getNetworkType() == GRMLSA.TRANSPARENT){
@@ -69,6 +75,33 @@ public class Simulation implements Serializable {
         return replication;
     }
 
+    /**
+     * Returns the event queue type used by the event machine
+     * 
+     * @return String
+     */
+    public String getEventQueueType() {
+        return eventQueueType;
+    }
+
+    /**
+     * Returns whether the arrivals of all request generators are produced by a single superposed source
+     * 
+     * @return boolean
+     */
+    public boolean isSuperposedArrivals() {
+        return superposedArrivals;
+    }
+
+    /**
+     * Returns the traffic trace configuration
+     * 
+     * @return SimulationConfig.TrafficTrace
+     */
+    public SimulationConfig.TrafficTrace getTrafficTrace() {
+        return trafficTrace;
+    }
+
     /**
      * Returns the mesh of the network
      * 
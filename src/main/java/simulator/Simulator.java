@@ -3,6 +3,10 @@ package simulator;
 import measurement.Measurements;
 import network.Pair;
 import network.RequestGenerator;
+import network.SuperposedRequestGenerator;
+import network.TrafficTraceReplay;
+import network.TrafficTraceWriter;
+import simulationControl.parsers.SimulationConfig;
 import simulator.eventListeners.ArriveRequestForConexionListener;
 
 /**
@@ -15,6 +19,8 @@ public class Simulator {
     private EventMachine eMachine;
     private ArriveRequestForConexionListener arriveRequest;
     private Simulation simulation;
+    private TrafficTraceWriter traceWriter;
+    private TrafficTraceReplay traceReplay;
 
     /**
      * Creates a new instance of Simulator.
@@ -34,19 +40,80 @@ public class Simulator {
      * @return Measurements
      */
     public Measurements start() throws Exception {
-        eMachine = new EventMachine();
+        eMachine = new EventMachine(simulation.getEventQueueType());
      // Creating the ArriveRequest event listener
         arriveRequest = new ArriveRequestForConexionListener(this.getEventMachine(), simulation);
-        this.scheduleFirstEvents();
-        this.eMachine.executeEvents();
+        try {
+            this.openTrafficTrace();
+            this.scheduleFirstEvents();
+            this.eMachine.executeEvents();
+        } finally {
+            this.closeTrafficTrace();
+        }
         return this.simulation.getMeasurements();
     }
 
+    /**
+     * Opens the traffic trace of this load point and replication, to be recorded or replayed
+     * 
+     * @throws Exception
+     */
+    private void openTrafficTrace() throws Exception {
+        SimulationConfig.TrafficTrace tt = simulation.getTrafficTrace();
+        if (tt == null || tt.mode == null || tt.mode.equals("")) {
+            return;
+        }
+        
+        String fileName = TrafficTraceWriter.getFileName(tt.path, simulation.getLoadPoint(), simulation.getReplication());
+        switch (tt.mode) {
+            case SimulationConfig.TrafficTrace.RECORD:
+                traceWriter = new TrafficTraceWriter(fileName, simulation.getMesh().getNodeList());
+                arriveRequest.setTraceWriter(traceWriter);
+                break;
+            case SimulationConfig.TrafficTrace.REPLAY:
+                traceReplay = new TrafficTraceReplay(fileName, simulation.getMesh());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown traffic trace mode: " + tt.mode);
+        }
+    }
+
+    /**
+     * Closes the traffic trace, if any
+     * 
+     * @throws Exception
+     */
+    private void closeTrafficTrace() throws Exception {
+        if (traceWriter != null) {
+            traceWriter.close();
+        }
+        if (traceReplay != null) {
+            if (traceReplay.getNumScheduled() == traceReplay.getNumRecords() && !simulation.getMeasurements().finished()) {
+                System.out.println("Load point " + simulation.getLoadPoint() + ", replication " + simulation.getReplication() 
+                        + ": the traffic trace ended before the number of requests of the simulation");
+            }
+            traceReplay.close();
+        }
+    }
+
     /**
      * Schedule the first events of arrive request.
-	 * This is done for each network request generator.
+	 * This is done for each network request generator, or only once when the arrivals are superposed or replayed from a trace.
      */
     private void scheduleFirstEvents() {
+        if (traceReplay != null) {
+            arriveRequest.setRequestSource(traceReplay);
+            traceReplay.scheduleNextRequest(eMachine, arriveRequest);
+            return;
+        }
+        
+        if (simulation.isSuperposedArrivals()) {
+            SuperposedRequestGenerator srg = new SuperposedRequestGenerator(simulation.getMesh().getPairList(), simulation.getMesh().getRandGenerator());
+            arriveRequest.setRequestSource(srg);
+            srg.scheduleNextRequest(eMachine, arriveRequest);
+            return;
+        }
+        
         for (Pair pair : simulation.getMesh().getPairList()) {
             for (RequestGenerator rg : pair.getRequestGenerators()) {
                 rg.scheduleNextRequest(eMachine, arriveRequest);
@@ -2,6 +2,9 @@ package simulator.eventListeners;
 
 import grmlsa.Route;
 import measurement.Measurements;
+import network.RequestSourceInterface;
+import network.TrafficTraceReplay;
+import network.TrafficTraceWriter;
 import request.RequestForConnection;
 import simulator.Event;
 import simulator.EventMachine;
@@ -18,6 +21,8 @@ public class ArriveRequestForConexionListener implements EventListener {
     private EventMachine em;
     private Simulation simulation;
     private int numOfRequests;
+    private RequestSourceInterface requestSource; // Single arrival source, null when each generator schedules its own arrivals
+    private TrafficTraceWriter traceWriter; // Records the arrivals, null when the traffic is not recorded
 
     /**
      * Creates a new instance of ArriveRequestForConexionListener.
@@ -39,12 +44,21 @@ public class ArriveRequestForConexionListener implements EventListener {
     public void execute(Event e) throws Exception {
 
         RequestForConnection requestForConnection = (RequestForConnection) e.getObject();
+        
+        if (traceWriter != null) { // The arrivals are recorded here because they are executed in chronological order
+            traceWriter.write(requestForConnection);
+        }
 
         // Schedule next request to connect to this same requestGenerator
         Measurements m = simulation.getMeasurements();
         
-        if (!m.finished()) { // Schedule another request through the same generator of this
-            requestForConnection.getRequestGenerator().scheduleNextRequest(em, this);
+        // A traffic trace is replayed until its end, so all the recorded workload is evaluated
+        if (!m.finished() || requestSource instanceof TrafficTraceReplay) { // Schedule another request through the same generator of this
+            if (requestSource != null) {
+                requestSource.scheduleNextRequest(em, this);
+            } else {
+                requestForConnection.getRequestGenerator().scheduleNextRequest(em, this);
+            }
         }
 
         beforeReq();
@@ -55,7 +69,8 @@ public class ArriveRequestForConexionListener implements EventListener {
         // Try to satisfy the request
         Boolean success = simulation.getControlPlane().handleRequisition(requestForConnection);
         if (success) {// Schedule the end of the requisition and release of resources
-            em.insert(new Event(requestForConnection, new HoldRequestListener(simulation), requestForConnection.getTimeOfFinalizeHours()));
+            Event holdEvent = em.insert(new Event(requestForConnection, new HoldRequestListener(simulation), requestForConnection.getTimeOfFinalizeHours()));
+            requestForConnection.setHoldEvent(holdEvent);
         }
         
         afterReq(requestForConnection, success);
@@ -68,6 +83,25 @@ public class ArriveRequestForConexionListener implements EventListener {
         //printTest(requestForConnection, success);
     }
 
+    /**
+     * Sets the single arrival source of the network.
+     * When it is set, the next arrivals are scheduled by it instead of by the generator of each request.
+     * 
+     * @param requestSource RequestSourceInterface
+     */
+    public void setRequestSource(RequestSourceInterface requestSource) {
+        this.requestSource = requestSource;
+    }
+
+    /**
+     * Sets the writer of the traffic trace, each arrival is recorded before being handled
+     * 
+     * @param traceWriter TrafficTraceWriter
+     */
+    public void setTraceWriter(TrafficTraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+    }
+
     /**
      * Verifies transient state and generation of requests
      */
@@ -77,6 +111,9 @@ public class ArriveRequestForConexionListener implements EventListener {
         // Transient state check
         m.transientStepVerify();
         
+        // End of batch check, in the batch means mode
+        m.batchStepVerify();
+        
         // Increase in the number of generated circuit requests
         m.incNumGeneratedReq();
     }
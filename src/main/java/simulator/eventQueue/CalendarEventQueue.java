@@ -0,0 +1,280 @@
+package simulator.eventQueue;
+
+import java.io.Serializable;
+
+import simulator.Event;
+
+/**
+ * This class implements the calendar queue proposed by R. Brown:
+ *  - Calendar Queues: A Fast O(1) Priority Queue Implementation for the Simulation Event Set Problem (1988)
+ *
+ * The events are spread over an array of buckets ("days"), each bucket keeps a list sorted by time.
+ * The bucket width is recomputed from a sample of the pending events every time the number of buckets is resized,
+ * so that insertion and removal cost O(1) on average.
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class CalendarEventQueue implements EventQueueInterface {
+
+    private static final int MIN_BUCKETS = 2;
+    private static final int SAMPLE_SIZE = 25;
+
+    private Node buckets[];
+    private double width;
+    private int size;
+
+    private long currentDay; // Virtual index of the bucket being scanned, it grows with the simulation time
+    private double lastTime; // Time of the last removed event
+    private boolean resizeEnabled;
+
+    /**
+     * Element of the sorted list of a bucket
+     */
+    private static class Node implements Serializable {
+        private Event event;
+        private long day;
+        private Node next;
+
+        private Node(Event event, long day) {
+            this.event = event;
+            this.day = day;
+        }
+    }
+
+    /**
+     * Creates a new instance of CalendarEventQueue
+     */
+    public CalendarEventQueue() {
+        this.buckets = new Node[MIN_BUCKETS];
+        this.width = 1.0;
+        this.size = 0;
+        this.currentDay = 0;
+        this.lastTime = 0.0;
+        this.resizeEnabled = true;
+    }
+
+    @Override
+    public void add(Event e) {
+        insert(new Node(e, dayOf(e.getTimeHours())));
+        size++;
+
+        if (resizeEnabled && size > 2 * buckets.length) {
+            resize(2 * buckets.length);
+        }
+    }
+
+    @Override
+    public Event poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        // Scans one year of buckets looking for an event of the current day
+        int nb = buckets.length;
+        for (int n = 0; n < nb; n++) {
+            int i = bucketOf(currentDay);
+            Node head = buckets[i];
+            if (head != null && head.day <= currentDay) {
+                return removeHead(i);
+            }
+            currentDay++;
+        }
+
+        // There is no event in the next year, direct search for the lowest event
+        int min = -1;
+        for (int i = 0; i < nb; i++) {
+            if (buckets[i] != null && (min == -1 || buckets[i].event.compareTo(buckets[min].event) < 0)) {
+                min = i;
+            }
+        }
+        currentDay = buckets[min].day;
+        return removeHead(min);
+    }
+
+    @Override
+    public boolean remove(Event e) {
+        int i = e.getQueueIndex();
+        if (i < 0 || i >= buckets.length) {
+            return false;
+        }
+
+        // Only the bucket of the event is scanned, it holds O(1) events on average
+        Node prev = null;
+        for (Node node = buckets[i]; node != null; node = node.next) {
+            if (node.event == e) {
+                if (prev == null) {
+                    buckets[i] = node.next;
+                } else {
+                    prev.next = node.next;
+                }
+                size--;
+                e.setQueueIndex(-1);
+                return true;
+            }
+            prev = node;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < buckets.length; i++) {
+            for (Node node = buckets[i]; node != null; node = node.next) {
+                node.event.setQueueIndex(-1);
+            }
+        }
+        this.buckets = new Node[MIN_BUCKETS];
+        this.width = 1.0;
+        this.size = 0;
+        this.currentDay = 0;
+        this.lastTime = 0.0;
+    }
+
+    /**
+     * Returns the virtual day of a given time
+     *
+     * @param timeHours double
+     * @return long
+     */
+    private long dayOf(double timeHours) {
+        return (long) Math.floor(timeHours / width);
+    }
+
+    /**
+     * Returns the bucket index of a given virtual day
+     *
+     * @param day long
+     * @return int
+     */
+    private int bucketOf(long day) {
+        return (int) Math.floorMod(day, (long) buckets.length);
+    }
+
+    /**
+     * Inserts the node in the sorted list of its bucket
+     *
+     * @param node Node
+     */
+    private void insert(Node node) {
+        if (node.day < currentDay) { // Event scheduled before the current position of the calendar
+            currentDay = node.day;
+        }
+
+        int i = bucketOf(node.day);
+        Node prev = null;
+        Node cur = buckets[i];
+        while (cur != null && cur.event.compareTo(node.event) <= 0) {
+            prev = cur;
+            cur = cur.next;
+        }
+        node.next = cur;
+        if (prev == null) {
+            buckets[i] = node;
+        } else {
+            prev.next = node;
+        }
+        node.event.setQueueIndex(i); // The bucket is the position of the event in the calendar
+    }
+
+    /**
+     * Removes the first event of a bucket
+     *
+     * @param i int
+     * @return Event
+     */
+    private Event removeHead(int i) {
+        Node head = buckets[i];
+        buckets[i] = head.next;
+        size--;
+        lastTime = head.event.getTimeHours();
+        head.event.setQueueIndex(-1);
+
+        if (resizeEnabled && buckets.length > MIN_BUCKETS && size < buckets.length / 2) {
+            resize(buckets.length / 2);
+        }
+
+        return head.event;
+    }
+
+    /**
+     * Changes the number of buckets and recomputes the bucket width
+     *
+     * @param newSize int
+     */
+    private void resize(int newSize) {
+        resizeEnabled = false;
+
+        double newWidth = computeNewWidth();
+
+        Node oldBuckets[] = buckets;
+        buckets = new Node[newSize];
+        width = newWidth;
+        currentDay = dayOf(lastTime);
+
+        for (int i = 0; i < oldBuckets.length; i++) {
+            Node node = oldBuckets[i];
+            while (node != null) {
+                Node next = node.next;
+                node.next = null;
+                node.day = dayOf(node.event.getTimeHours());
+                insert(node);
+                node = next;
+            }
+        }
+
+        resizeEnabled = true;
+    }
+
+    /**
+     * Estimates the bucket width as three times the average separation between the next events
+     *
+     * @return double
+     */
+    private double computeNewWidth() {
+        int numSamples = Math.min(size, SAMPLE_SIZE);
+        if (numSamples < 2) {
+            return width;
+        }
+
+        // Removes the next events to measure their separation and inserts them again
+        long savedDay = currentDay;
+        double savedTime = lastTime;
+        Event sample[] = new Event[numSamples];
+        for (int i = 0; i < numSamples; i++) {
+            sample[i] = poll();
+        }
+        for (int i = 0; i < numSamples; i++) {
+            insert(new Node(sample[i], dayOf(sample[i].getTimeHours())));
+        }
+        size += numSamples;
+        currentDay = savedDay;
+        lastTime = savedTime;
+
+        double totalSeparation = sample[numSamples - 1].getTimeHours() - sample[0].getTimeHours();
+        double averageSeparation = totalSeparation / (numSamples - 1);
+
+        // Discards the separations that are very large in relation to the average
+        double sum = 0.0;
+        int count = 0;
+        for (int i = 1; i < numSamples; i++) {
+            double separation = sample[i].getTimeHours() - sample[i - 1].getTimeHours();
+            if (separation <= 2.0 * averageSeparation) {
+                sum += separation;
+                count++;
+            }
+        }
+
+        if (count == 0 || sum <= 0.0) {
+            return width;
+        }
+
+        return 3.0 * (sum / count);
+    }
+
+}
@@ -0,0 +1,150 @@
+package simulator.eventQueue;
+
+import java.util.Arrays;
+
+import simulator.Event;
+
+/**
+ * This class implements the event queue as an implicit d-ary heap stored in an array.
+ * Insertion, removal of the next event and removal of any scheduled event cost O(log n).
+ * With d = 2 it is the classic binary heap, with d = 4 the heap is shallower and more cache friendly.
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class DaryHeapEventQueue implements EventQueueInterface {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int arity;
+    private Event heap[];
+    private int size;
+
+    /**
+     * Creates a new instance of DaryHeapEventQueue
+     *
+     * @param arity int - Number of children of each node of the heap
+     */
+    public DaryHeapEventQueue(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The heap arity must be at least 2");
+        }
+        this.arity = arity;
+        this.heap = new Event[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    @Override
+    public void add(Event e) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        siftUp(size, e);
+        size++;
+    }
+
+    @Override
+    public Event poll() {
+        if (size == 0) {
+            return null;
+        }
+        Event first = heap[0];
+        removeAt(0);
+        return first;
+    }
+
+    @Override
+    public boolean remove(Event e) {
+        int index = e.getQueueIndex();
+        if (index < 0 || index >= size || heap[index] != e) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].setQueueIndex(-1);
+        }
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Removes the event at a given position of the heap
+     *
+     * @param index int
+     */
+    private void removeAt(int index) {
+        heap[index].setQueueIndex(-1);
+        size--;
+        Event last = heap[size];
+        heap[size] = null;
+        if (index == size) {
+            return;
+        }
+        siftDown(index, last);
+        if (heap[index] == last) {
+            siftUp(index, last);
+        }
+    }
+
+    /**
+     * Moves the event up from the given position until the heap property is restored
+     *
+     * @param index int
+     * @param e Event
+     */
+    private void siftUp(int index, Event e) {
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            Event p = heap[parent];
+            if (e.compareTo(p) >= 0) {
+                break;
+            }
+            heap[index] = p;
+            p.setQueueIndex(index);
+            index = parent;
+        }
+        heap[index] = e;
+        e.setQueueIndex(index);
+    }
+
+    /**
+     * Moves the event down from the given position until the heap property is restored
+     *
+     * @param index int
+     * @param e Event
+     */
+    private void siftDown(int index, Event e) {
+        while (true) {
+            int firstChild = index * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + arity, size);
+            int min = firstChild;
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                if (heap[c].compareTo(heap[min]) < 0) {
+                    min = c;
+                }
+            }
+            if (heap[min].compareTo(e) >= 0) {
+                break;
+            }
+            heap[index] = heap[min];
+            heap[index].setQueueIndex(index);
+            index = min;
+        }
+        heap[index] = e;
+        e.setQueueIndex(index);
+    }
+
+}
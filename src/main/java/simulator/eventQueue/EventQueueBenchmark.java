@@ -0,0 +1,98 @@
+package simulator.eventQueue;
+
+import simulator.Event;
+import simulator.EventMachine;
+import util.RandGenerator;
+
+/**
+ * Benchmark of the event queues based on the classic hold model.
+ * The queue is filled with a number of pending events and then, in each step, the next event is removed
+ * and a new one is scheduled with an exponential delay, as the arrival and hold events of the simulator do.
+ * Every fourth step one of the recently scheduled events is cancelled through its handle and replaced.
+ * The number of events per second of each queue is printed, as well as a checksum of the removal order
+ * to confirm that all queues process the events in the same order.
+ *
+ * Usage: EventQueueBenchmark [number of operations]
+ *
+ * @author Iallen
+ */
+public class EventQueueBenchmark {
+
+    private static final String QUEUES[] = {EventMachine.EVENT_QUEUE_LINEAR, EventMachine.EVENT_QUEUE_BINARYHEAP, EventMachine.EVENT_QUEUE_QUATERNARYHEAP, EventMachine.EVENT_QUEUE_CALENDAR};
+    private static final int PENDING_EVENTS[] = {100, 1000, 10000};
+
+    /**
+     * Main method
+     *
+     * @param args String[] - arg[0] - Number of hold operations
+     */
+    public static void main(String[] args) {
+        int operations = 1000000;
+        if (args.length > 0) {
+            operations = Integer.parseInt(args[0]);
+        }
+
+        System.out.println("queue,pendingEvents,operations,eventsPerSecond,checksum");
+        for (int pending : PENDING_EVENTS) {
+            for (String queue : QUEUES) {
+                int ops = operations;
+                if (queue.equals(EventMachine.EVENT_QUEUE_LINEAR) && pending > 1000) {
+                    ops = operations / 10; // The linear queue is too slow for many pending events
+                }
+
+                run(queue, pending, ops / 10); // Warm up
+                long start = System.nanoTime();
+                double checksum = run(queue, pending, ops);
+                long end = System.nanoTime();
+
+                double eventsPerSecond = ops / ((end - start) / 1000000000.0);
+                System.out.println(queue + "," + pending + "," + ops + "," + (long) eventsPerSecond + "," + checksum);
+            }
+        }
+    }
+
+    /**
+     * Runs the hold model on a given event queue
+     *
+     * @param queueType String
+     * @param pending int
+     * @param operations int
+     * @return double - checksum of the order in which the events were removed
+     */
+    private static double run(String queueType, int pending, int operations) {
+        EventQueueInterface queue = EventMachine.instantiateEventQueue(queueType);
+        RandGenerator rand = new RandGenerator(1234567L);
+        double id = 0;
+
+        for (int i = 0; i < pending; i++) {
+            Event e = new Event(null, null, rand.negexp(1.0));
+            e.setId(id++);
+            queue.add(e);
+        }
+
+        double checksum = 0.0;
+        Event recent[] = new Event[16];
+        for (int i = 0; i < operations; i++) {
+            Event e = queue.poll();
+            checksum += e.getId() * (i % 7);
+
+            Event next = new Event(null, null, e.getTimeHours() + rand.negexp(1.0));
+            next.setId(id++);
+            queue.add(next);
+            recent[i % recent.length] = next;
+
+            // Cancels one of the recently scheduled events and schedules another one, as a preemption would do
+            if (i % 4 == 0) {
+                Event cancelled = recent[rand.randInt(0, recent.length - 1)];
+                if (cancelled != null && queue.remove(cancelled)) {
+                    Event replacement = new Event(null, null, e.getTimeHours() + rand.negexp(1.0));
+                    replacement.setId(id++);
+                    queue.add(replacement);
+                }
+            }
+        }
+
+        return checksum;
+    }
+
+}
@@ -0,0 +1,53 @@
+package simulator.eventQueue;
+
+import java.io.Serializable;
+
+import simulator.Event;
+
+/**
+ * Interface that must be implemented by the data structures used by the event machine
+ * to keep the pending events ordered by their occurrence time.
+ * Events with the same occurrence time must leave the queue in the order they were inserted (by event identifier).
+ * The queues keep the position of each event updated (Event.setQueueIndex) and set it to -1 when the event leaves the queue.
+ *
+ * @author Iallen
+ */
+public interface EventQueueInterface extends Serializable {
+
+    /**
+     * Inserts an event in the queue
+     *
+     * @param e Event
+     */
+    public void add(Event e);
+
+    /**
+     * Removes and returns the event with the lowest occurrence time.
+     * Returns null if the queue is empty.
+     *
+     * @return Event
+     */
+    public Event poll();
+
+    /**
+     * Removes a scheduled event from the queue.
+     * The queues use the position stored in the event (Event.getQueueIndex) to find it without scanning all events.
+     *
+     * @param e Event
+     * @return boolean - True if the event was removed
+     */
+    public boolean remove(Event e);
+
+    /**
+     * Returns the number of events in the queue
+     *
+     * @return int
+     */
+    public int size();
+
+    /**
+     * Removes all events of the queue
+     */
+    public void clear();
+
+}
@@ -0,0 +1,70 @@
+package simulator.eventQueue;
+
+import java.util.Vector;
+
+import simulator.Event;
+
+/**
+ * This class implements the original event list of the simulator.
+ * Each insertion walks the list until it finds the position of the new event, so it costs O(n).
+ * It is kept as a reference for validations and benchmarks of the other event queues.
+ * The positions are not indexed, so removing an event also costs O(n).
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class LinearEventQueue implements EventQueueInterface {
+
+    private Vector<Event> eventList;
+
+    /**
+     * Creates a new instance of LinearEventQueue
+     */
+    public LinearEventQueue() {
+        this.eventList = new Vector<Event>();
+    }
+
+    @Override
+    public void add(Event e) {
+        int i = 0;
+        while (i < eventList.size() && (eventList.elementAt(i)).compareTo(e) <= 0) {
+            i++;
+        }
+        eventList.insertElementAt(e, i);
+        e.setQueueIndex(0);
+    }
+
+    @Override
+    public Event poll() {
+        if (eventList.isEmpty()) {
+            return null;
+        }
+        Event e = eventList.firstElement();
+        eventList.removeElementAt(0);
+        e.setQueueIndex(-1);
+        return e;
+    }
+
+    @Override
+    public boolean remove(Event e) {
+        if (e.getQueueIndex() == -1 || !eventList.remove(e)) {
+            return false;
+        }
+        e.setQueueIndex(-1);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return eventList.size();
+    }
+
+    @Override
+    public void clear() {
+        for (Event e : eventList) {
+            e.setQueueIndex(-1);
+        }
+        eventList.removeAllElements();
+    }
+
+}
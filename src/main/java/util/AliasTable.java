@@ -0,0 +1,123 @@
+package util;
+
+import java.io.Serializable;
+
+/**
+ * Alias table for drawing indexes from a discrete distribution in O(1).
+ * Built with the method of Vose:
+ *  - A Linear Algorithm for Generating Random Numbers with a Given Distribution (1991)
+ *
+ * @author Iallen
+ */
+@SuppressWarnings("serial")
+public class AliasTable implements Serializable {
+
+    private double prob[];
+    private int alias[];
+    private double totalWeight;
+
+    /**
+     * Creates a new instance of AliasTable
+     *
+     * @param weights double[] - Non-negative weights, they do not need to be normalized
+     */
+    public AliasTable(double weights[]) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("The alias table needs at least one weight");
+        }
+
+        this.prob = new double[n];
+        this.alias = new int[n];
+
+        totalWeight = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (weights[i] < 0.0) {
+                throw new IllegalArgumentException("The alias table weights can not be negative");
+            }
+            totalWeight += weights[i];
+        }
+        if (totalWeight <= 0.0) {
+            throw new IllegalArgumentException("The sum of the alias table weights must be greater than zero");
+        }
+
+        // Scaled probabilities, the average value is 1
+        double scaled[] = new double[n];
+        int small[] = new int[n];
+        int large[] = new int[n];
+        int numSmall = 0;
+        int numLarge = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / totalWeight;
+            if (scaled[i] < 1.0) {
+                small[numSmall++] = i;
+            } else {
+                large[numLarge++] = i;
+            }
+        }
+
+        while (numSmall > 0 && numLarge > 0) {
+            int s = small[--numSmall];
+            int l = large[--numLarge];
+
+            prob[s] = scaled[s];
+            alias[s] = l;
+
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) {
+                small[numSmall++] = l;
+            } else {
+                large[numLarge++] = l;
+            }
+        }
+
+        // The remaining entries are equal to 1 except for rounding errors
+        while (numLarge > 0) {
+            int l = large[--numLarge];
+            prob[l] = 1.0;
+            alias[l] = l;
+        }
+        while (numSmall > 0) {
+            int s = small[--numSmall];
+            prob[s] = 1.0;
+            alias[s] = s;
+        }
+    }
+
+    /**
+     * Draws an index with probability proportional to its weight
+     *
+     * @param rand RandGenerator
+     * @return int
+     */
+    public int sample(RandGenerator rand) {
+        double u = rand.nextDouble() * prob.length;
+        int i = (int) u;
+        if (i >= prob.length) { // Rounding protection
+            i = prob.length - 1;
+        }
+        if (u - i < prob[i]) {
+            return i;
+        }
+        return alias[i];
+    }
+
+    /**
+     * Returns the number of indexes in the table
+     *
+     * @return int
+     */
+    public int size() {
+        return prob.length;
+    }
+
+    /**
+     * Returns the sum of the weights used to build the table
+     *
+     * @return double
+     */
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+}
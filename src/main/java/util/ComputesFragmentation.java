@@ -34,6 +34,31 @@ public class ComputesFragmentation {
         return fe;
     }
 
+    /**
+     * This method calculates the external fragmentation from a buffer of free spectrum bands
+     * 
+     * @param bands int[] - The band i is stored in the positions 2 * i and 2 * i + 1
+     * @param numBands int
+     * @return double
+     */
+    public double externalFragmentation(int bands[], int numBands) {
+        int largest = 0;
+        double totalFree = 0.0;
+        for (int i = 0; i < numBands; i++) {
+            int size = bands[2 * i + 1] - bands[2 * i];
+            if (size > largest) {
+                largest = size;
+            }
+            totalFree = totalFree + size;
+        }
+
+        double fe = 1 - (largest / totalFree);
+
+        if (totalFree == 0.0) fe = 0.0; // If the spectrum is completely filled it is not fragmented
+
+        return fe;
+    }
+
     /**
      * This method calculates the relative fragmentation
      *
@@ -58,4 +83,28 @@ public class ComputesFragmentation {
         return f_c;
     }
 
+    /**
+     * This method calculates the relative fragmentation from a buffer of free spectrum bands
+     *
+     * @param bands int[] - The band i is stored in the positions 2 * i and 2 * i + 1
+     * @param numBands int
+     * @param c int - Number of slots to allocate (relative value)
+     * @return double
+     */
+    public double relativeFragmentation(int bands[], int numBands, int c) {
+
+        int freeC = 0;
+        int totalFree = 0;
+        for (int i = 0; i < numBands; i++) {
+            int auxT = (bands[2 * i + 1] - bands[2 * i] + 1);
+            freeC += auxT / c;
+            totalFree += auxT;
+        }
+        double f_c = 1 - ((double) (c * freeC)) / ((double) totalFree);
+
+        if (totalFree == 0) f_c = 0.0;
+
+        return f_c;
+    }
+
 }
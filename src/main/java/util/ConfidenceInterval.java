@@ -0,0 +1,108 @@
+package util;
+
+/**
+ * This class computes confidence intervals for the mean of a set of observations.
+ *
+ * @author Iallen
+ */
+public class ConfidenceInterval {
+
+    /**
+     * Returns the half-width of the confidence interval of the mean of the first n values,
+     * based on the Student t distribution with n - 1 degrees of freedom
+     *
+     * @param values double[]
+     * @param n int - Number of values considered
+     * @param confidence double - Confidence level, for example 0.95
+     * @return double
+     */
+    public static double halfWidth(double values[], int n, double confidence) {
+        if (n < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double mean = mean(values, n);
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            double d = values[i] - mean;
+            sum += d * d;
+        }
+        double variance = sum / (n - 1);
+        double t = studentTQuantile(1.0 - (1.0 - confidence) / 2.0, n - 1);
+        return t * Math.sqrt(variance / n);
+    }
+
+    /**
+     * Returns the mean of the first n values
+     *
+     * @param values double[]
+     * @param n int
+     * @return double
+     */
+    public static double mean(double values[], int n) {
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            sum += values[i];
+        }
+        return sum / n;
+    }
+
+    /**
+     * Quantile of the Student t distribution by the Cornish-Fisher expansion around the normal quantile.
+     * The error is lower than 0.1% for 5 or more degrees of freedom.
+     *
+     * @param p double - Probability
+     * @param df int - Degrees of freedom
+     * @return double
+     */
+    public static double studentTQuantile(double p, int df) {
+        double z = normalQuantile(p);
+        double v = df;
+        double z2 = z * z;
+        double z3 = z2 * z;
+        double z5 = z3 * z2;
+        double z7 = z5 * z2;
+        double z9 = z7 * z2;
+
+        double g1 = (z3 + z) / 4.0;
+        double g2 = (5.0 * z5 + 16.0 * z3 + 3.0 * z) / 96.0;
+        double g3 = (3.0 * z7 + 19.0 * z5 + 17.0 * z3 - 15.0 * z) / 384.0;
+        double g4 = (79.0 * z9 + 776.0 * z7 + 1482.0 * z5 - 1920.0 * z3 - 945.0 * z) / 92160.0;
+
+        return z + g1 / v + g2 / (v * v) + g3 / (v * v * v) + g4 / (v * v * v * v);
+    }
+
+    /**
+     * Quantile of the standard normal distribution.
+     * Rational approximation of P. J. Acklam, with relative error lower than 1.15E-9.
+     *
+     * @param p double - Probability in the interval (0, 1)
+     * @return double
+     */
+    public static double normalQuantile(double p) {
+        if (p <= 0.0 || p >= 1.0) {
+            throw new IllegalArgumentException("The probability must be in the interval (0, 1)");
+        }
+
+        final double a[] = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02, 1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double b[] = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02, 6.680131188771972e+01, -1.328068155288572e+01};
+        final double c[] = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00, -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double d[] = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00, 3.754408661907416e+00};
+
+        double pLow = 0.02425;
+        double q, r;
+
+        if (p < pLow) {
+            q = Math.sqrt(-2.0 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1.0);
+        }
+        if (p > 1.0 - pLow) {
+            q = Math.sqrt(-2.0 * Math.log(1.0 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1.0);
+        }
+
+        q = p - 0.5;
+        r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1.0);
+    }
+
+}
@@ -0,0 +1,112 @@
+package util;
+
+/**
+ * This class is a segment tree over the free slots of a spectrum.
+ * Each node keeps the largest run of free slots of its interval and the runs that touch its
+ * left (prefix) and right (suffix) ends, so it answers whether there is a block of n contiguous
+ * free slots, and where the first one starts, in O(log slots).
+ * The slot s is the bit s - 1 of the bitmap used to build the tree.
+ *
+ * @author Iallen
+ */
+public class FreeSlotsSegmentTree {
+
+    private int numOfSlots;
+    private int numLeaves; // Power of two, the leaves beyond the number of slots are considered used
+
+    private int maxRun[];
+    private int prefixRun[];
+    private int suffixRun[];
+
+    /**
+     * Creates a new instance of FreeSlotsSegmentTree
+     *
+     * @param numOfSlots int
+     */
+    public FreeSlotsSegmentTree(int numOfSlots) {
+        this.numOfSlots = numOfSlots;
+        this.numLeaves = Integer.highestOneBit(Math.max(1, numOfSlots - 1)) << 1;
+        this.maxRun = new int[2 * numLeaves];
+        this.prefixRun = new int[2 * numLeaves];
+        this.suffixRun = new int[2 * numLeaves];
+    }
+
+    /**
+     * Rebuilds the tree from a bitmap of free slots
+     *
+     * @param bitmap long[]
+     */
+    public void build(long bitmap[]) {
+        for (int i = 0; i < numLeaves; i++) {
+            int free = (i < numOfSlots && (bitmap[i >>> 6] & (1L << i)) != 0) ? 1 : 0;
+            maxRun[numLeaves + i] = free;
+            prefixRun[numLeaves + i] = free;
+            suffixRun[numLeaves + i] = free;
+        }
+
+        int len = 1; // Number of slots of the children of the nodes of the current level
+        for (int first = numLeaves >>> 1; first >= 1; first >>>= 1) {
+            for (int node = first; node < 2 * first; node++) {
+                int l = 2 * node;
+                int r = l + 1;
+                maxRun[node] = Math.max(Math.max(maxRun[l], maxRun[r]), suffixRun[l] + prefixRun[r]);
+                prefixRun[node] = prefixRun[l] == len ? len + prefixRun[r] : prefixRun[l];
+                suffixRun[node] = suffixRun[r] == len ? len + suffixRun[l] : suffixRun[r];
+            }
+            len <<= 1;
+        }
+    }
+
+    /**
+     * Returns the size of the largest block of contiguous free slots
+     *
+     * @return int
+     */
+    public int getLargestFreeBlock() {
+        return maxRun[1];
+    }
+
+    /**
+     * Checks if there is a block of at least a given number of contiguous free slots
+     *
+     * @param numberOfSlots int
+     * @return boolean
+     */
+    public boolean hasFreeBlock(int numberOfSlots) {
+        return maxRun[1] >= numberOfSlots;
+    }
+
+    /**
+     * Returns the first slot of the first block of at least a given number of contiguous free slots,
+     * or -1 if there is none
+     *
+     * @param numberOfSlots int - Must be greater than zero
+     * @return int
+     */
+    public int firstFreeBlock(int numberOfSlots) {
+        if (maxRun[1] < numberOfSlots) {
+            return -1;
+        }
+
+        int node = 1;
+        int start = 0; // First slot of the interval of the node, starting from 0
+        int len = numLeaves;
+        while (node < numLeaves) {
+            int half = len >>> 1;
+            int l = 2 * node;
+            int r = l + 1;
+            if (maxRun[l] >= numberOfSlots) {
+                node = l;
+            } else if (suffixRun[l] + prefixRun[r] >= numberOfSlots) { // The block crosses the middle of the interval
+                return start + half - suffixRun[l] + 1;
+            } else {
+                node = r;
+                start += half;
+            }
+            len = half;
+        }
+
+        return start + 1;
+    }
+
+}
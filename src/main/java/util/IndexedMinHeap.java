@@ -0,0 +1,131 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * This class is a binary heap of the integers 0 to n - 1 (the ids of the nodes of a graph) ordered by a priority.
+ * The position of each element in the heap is kept, so the priority of an element can be decreased in O(log n).
+ * Elements with the same priority are removed in the order of their ids.
+ *
+ * @author Iallen
+ */
+public class IndexedMinHeap {
+
+    private int heap[]; // Elements in the order of the heap
+    private int position[]; // Position of each element in the heap, or -1 if it is not in the heap
+    private double priority[];
+    private int size;
+
+    /**
+     * Creates a new instance of IndexedMinHeap
+     *
+     * @param capacity int - number of possible elements
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.priority = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Returns true if the heap is empty
+     *
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns true if the element is in the heap
+     *
+     * @param element int
+     * @return boolean
+     */
+    public boolean contains(int element) {
+        return position[element] != -1;
+    }
+
+    /**
+     * Adds an element or decreases its priority if it is already in the heap with a higher priority
+     *
+     * @param element int
+     * @param p double
+     */
+    public void addOrDecrease(int element, double p) {
+        int i = position[element];
+        if (i == -1) {
+            i = size++;
+        } else if (p >= priority[element]) {
+            return;
+        }
+        priority[element] = p;
+        siftUp(i, element);
+    }
+
+    /**
+     * Removes the element with the lowest priority
+     *
+     * @return int
+     */
+    public int poll() {
+        int first = heap[0];
+        position[first] = -1;
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size]);
+        }
+        return first;
+    }
+
+    /**
+     * Removes all the elements
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i, int element) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(element, heap[parent])) {
+                break;
+            }
+            place(i, heap[parent]);
+            i = parent;
+        }
+        place(i, element);
+    }
+
+    private void siftDown(int i, int element) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], element)) {
+                break;
+            }
+            place(i, heap[child]);
+            i = child;
+        }
+        place(i, element);
+    }
+
+    private void place(int i, int element) {
+        heap[i] = element;
+        position[element] = i;
+    }
+
+    private boolean less(int e1, int e2) {
+        return priority[e1] < priority[e2] || (priority[e1] == priority[e2] && e1 < e2);
+    }
+
+}
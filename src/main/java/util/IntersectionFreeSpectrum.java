@@ -1,9 +1,11 @@
 package util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import grmlsa.Route;
+import network.FreeBandConsumer;
 import network.Link;
 
 /**
@@ -86,20 +88,209 @@ public class IntersectionFreeSpectrum {
     }
 
     /**
-     * Returns a list of available spectrum on all links in the route passed by parameter
+     * Returns a list of available spectrum on all links in the route passed by parameter.
+     * The composition is cached in the route and recomputed only when the spectrum of some link changes,
+     * so the list returned is shared and must not be modified.
      *
      * @param route Route
      * @return List<int[]>
      */
     public static List<int[]> merge(Route route, int guardBand) {
-        List<Link> links = new ArrayList<>(route.getLinkList());
-        List<int[]> composition = links.get(0).getFreeSpectrumBands(guardBand);
-        
-        for (int i = 1; i < links.size(); i++) {
-            composition = IntersectionFreeSpectrum.merge(composition, links.get(i).getFreeSpectrumBands(guardBand));
+        return route.getFreeSpectrumComposition().get(route.getLinkList(), guardBand);
+    }
+
+    /**
+     * Visits the spectrum bands available on all links in the route passed by parameter.
+     * When the composition of the route is up to date no object is created.
+     *
+     * @param route Route
+     * @param guardBand int
+     * @param consumer FreeBandConsumer
+     */
+    public static void forEachFreeSpectrumBand(Route route, int guardBand, FreeBandConsumer consumer) {
+        List<int[]> composition = merge(route, guardBand);
+        for (int i = 0; i < composition.size(); i++) {
+            int band[] = composition.get(i);
+            consumer.accept(band[0], band[1]);
+        }
+    }
+
+    /**
+     * Checks if there is a block of at least a given number of contiguous free slots on all links of the route.
+     * The largest free block of each link is checked first, so most infeasible routes are rejected
+     * without building the composition of the route.
+     *
+     * @param route Route
+     * @param guardBand int
+     * @param numberOfSlots int
+     * @return boolean
+     */
+    public static boolean hasFreeBlock(Route route, int guardBand, int numberOfSlots) {
+        List<Link> links = route.getLinkList();
+        for (int i = 0; i < links.size(); i++) {
+            if (!links.get(i).getFreeSlotsTree(guardBand).hasFreeBlock(numberOfSlots)) {
+                return false;
+            }
+        }
+        return route.getFreeSpectrumComposition().getTree(links, guardBand).hasFreeBlock(numberOfSlots);
+    }
+
+    /**
+     * Returns the first block of a given number of contiguous slots free on all links of the route,
+     * or null if there is none
+     *
+     * @param route Route
+     * @param guardBand int
+     * @param numberOfSlots int
+     * @return int[]
+     */
+    public static int[] firstFreeBlock(Route route, int guardBand, int numberOfSlots) {
+        if (!hasFreeBlock(route, guardBand, numberOfSlots)) {
+            return null;
+        }
+        int first = route.getFreeSpectrumComposition().getTree(route.getLinkList(), guardBand).firstFreeBlock(numberOfSlots);
+        return new int[]{first, first + numberOfSlots - 1};
+    }
+
+    /**
+     * This class keeps the free spectrum composition of the links of a route.
+     * The composition is the AND of the bitmaps of free slots of the links and it is valid while
+     * the modification counters of the links are the same of when it was computed.
+     * 
+     * @author Iallen
+     */
+    public static class RouteComposition {
+
+        private Link links[];
+        private long versions[];
+        private int guardBand;
+        private long bitmap[];
+        private List<int[]> composition;
+        private FreeSlotsSegmentTree tree;
+        private int treeNumOfSlots;
+
+        /**
+         * Returns the composition of the free spectrum bands of the links for a given guard band
+         * 
+         * @param linkList List<Link>
+         * @param guardBand int
+         * @return List<int[]>
+         */
+        public List<int[]> get(List<Link> linkList, int guardBand) {
+            if (!isValid(linkList, guardBand)) {
+                compute(linkList, guardBand);
+            }
+            return composition;
+        }
+
+        /**
+         * Returns the segment tree of the composition of the free slots of the links for a given guard band
+         * 
+         * @param linkList List<Link>
+         * @param guardBand int
+         * @return FreeSlotsSegmentTree
+         */
+        public FreeSlotsSegmentTree getTree(List<Link> linkList, int guardBand) {
+            get(linkList, guardBand);
+            return tree;
+        }
+
+        /**
+         * Checks whether the composition was computed for the same links and guard band,
+         * and none of the links was modified since then
+         * 
+         * @param linkList List<Link>
+         * @param guardBand int
+         * @return boolean
+         */
+        private boolean isValid(List<Link> linkList, int guardBand) {
+            if (composition == null || this.guardBand != guardBand || links.length != linkList.size()) {
+                return false;
+            }
+            for (int i = 0; i < links.length; i++) {
+                Link link = linkList.get(i);
+                if (links[i] != link || versions[i] != link.getSpectrumVersion()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Computes the composition with the AND of the bitmaps of the links
+         * 
+         * @param linkList List<Link>
+         * @param guardBand int
+         */
+        private void compute(List<Link> linkList, int guardBand) {
+            int numLinks = linkList.size();
+            if (links == null || links.length != numLinks) {
+                links = new Link[numLinks];
+                versions = new long[numLinks];
+            }
+
+            int numOfSlots = Integer.MAX_VALUE;
+            for (int i = 0; i < numLinks; i++) {
+                Link link = linkList.get(i);
+                links[i] = link;
+                versions[i] = link.getSpectrumVersion();
+                numOfSlots = Math.min(numOfSlots, link.getNumOfSlots());
+            }
+
+            int numWords = (numOfSlots + 63) >>> 6;
+            if (bitmap == null || bitmap.length != numWords) {
+                bitmap = new long[numWords];
+            }
+            System.arraycopy(links[0].getFreeSpectrumBitmap(guardBand), 0, bitmap, 0, numWords);
+            for (int i = 1; i < numLinks; i++) {
+                long linkBitmap[] = links[i].getFreeSpectrumBitmap(guardBand);
+                for (int w = 0; w < numWords; w++) {
+                    bitmap[w] &= linkBitmap[w];
+                }
+            }
+
+            if (tree == null || treeNumOfSlots != numOfSlots) {
+                tree = new FreeSlotsSegmentTree(numOfSlots);
+                treeNumOfSlots = numOfSlots;
+            }
+            tree.build(bitmap);
+
+            // The runs of free slots are the free spectrum bands of the route
+            List<int[]> res = new ArrayList<>();
+            int s = nextBit(bitmap, 0, numOfSlots, true);
+            while (s < numOfSlots) {
+                int e = nextBit(bitmap, s, numOfSlots, false);
+                res.add(new int[]{s + 1, e});
+                s = nextBit(bitmap, e, numOfSlots, true);
+            }
+
+            this.guardBand = guardBand;
+            this.composition = Collections.unmodifiableList(res);
+        }
+
+        /**
+         * Returns the index of the first bit with a given value from a given index, or the number of slots if there is none
+         * 
+         * @param bits long[]
+         * @param from int
+         * @param numOfSlots int
+         * @param value boolean
+         * @return int
+         */
+        private static int nextBit(long bits[], int from, int numOfSlots, boolean value) {
+            if (from >= numOfSlots) {
+                return numOfSlots;
+            }
+            int w = from >>> 6;
+            long word = (value ? bits[w] : ~bits[w]) & (-1L << from);
+            while (word == 0) {
+                if (++w == bits.length) {
+                    return numOfSlots;
+                }
+                word = value ? bits[w] : ~bits[w];
+            }
+            return Math.min((w << 6) + Long.numberOfTrailingZeros(word), numOfSlots);
         }
-        
-        return composition;
     }
 
     /**
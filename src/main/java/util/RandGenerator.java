@@ -2,9 +2,23 @@ package util;
 
 /**
  * A class for random drawing.<p>
+ * The numbers are produced by the xoroshiro128++ generator of Blackman and Vigna, whose state is not shared
+ * between threads, so the draws do not pay the synchronization of <tt>java.util.Random</tt>.
+ * The seeds of the replications and of the request generators are derived from a master seed with the
+ * SplitMix64 function, so each stream is reproducible and independent of the others.
+ * An antithetic generator produces the complement 1 - U of each uniform U of the generator with the same seed.
  */
 @SuppressWarnings("serial")
 public class RandGenerator extends java.util.Random {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    // State of the xoroshiro128++ generator, they can not have initializers because setSeed is called by the super constructor
+    private long s0;
+    private long s1;
+
+    private boolean antithetic;
+
     /**
      * This constructor creates a <tt>Random</tt> object with the current
      * time as its seed value.
@@ -23,6 +37,114 @@ public class RandGenerator extends java.util.Random {
         super(seed);
     }
 
+    /**
+     * This constructor creates a <tt>Random</tt> object with the given seed
+     * value, whose uniforms are antithetic if requested.
+     *
+     * @param seed long
+     * @param antithetic boolean
+     */
+    public RandGenerator(long seed, boolean antithetic) {
+        super(seed);
+        this.antithetic = antithetic;
+    }
+
+    /**
+     * Initializes the state of the generator from a seed
+     *
+     * @param seed long
+     */
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed); // Discards the pending gaussian value
+        s0 = mix64(seed + GOLDEN_GAMMA);
+        s1 = mix64(seed + 2 * GOLDEN_GAMMA);
+        if ((s0 | s1) == 0L) { // The state can not be all zeros
+            s1 = GOLDEN_GAMMA;
+        }
+    }
+
+    /**
+     * Returns a new generator whose seed is drawn from this one.
+     * The streams of the generators created from the same seed are always the same.
+     *
+     * @return RandGenerator
+     */
+    public RandGenerator split() {
+        return new RandGenerator(mix64(nextLong()), antithetic);
+    }
+
+    /**
+     * Returns whether the uniforms of this generator are antithetic
+     *
+     * @return boolean
+     */
+    public boolean isAntithetic() {
+        return antithetic;
+    }
+
+    /**
+     * Returns a seed derived from a master seed and a sequence of keys, for example the load point and the replication
+     *
+     * @param masterSeed long
+     * @param keys long[]
+     * @return long
+     */
+    public static long deriveSeed(long masterSeed, long... keys) {
+        long seed = mix64(masterSeed);
+        for (long key : keys) {
+            seed = mix64(seed ^ mix64(key + GOLDEN_GAMMA));
+        }
+        return seed;
+    }
+
+    /**
+     * SplitMix64 finalizer
+     *
+     * @param z long
+     * @return long
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public long nextLong() {
+        long a = s0;
+        long b = s1;
+        long result = Long.rotateLeft(a + b, 17) + a;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+        s1 = Long.rotateLeft(b, 28);
+        return result;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0L;
+    }
+
+    @Override
+    public double nextDouble() {
+        long u = nextLong() >>> 11;
+        if (antithetic) { // Complement in 53 bits, so the value is still in [0, 1)
+            u = ~u & 0x1fffffffffffffL;
+        }
+        return u * 0x1.0p-53;
+    }
+
     /**
      * Returns <tt>true</tt> or <tt>false</tt> with a given probability.
      *
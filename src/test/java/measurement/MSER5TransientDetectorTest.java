@@ -0,0 +1,64 @@
+package measurement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests of the detection of the end of the transient phase with MSER-5
+ *
+ * @author Iallen
+ */
+public class MSER5TransientDetectorTest {
+
+	private static final int MAX_OBSERVATIONS = 20000;
+	private static final int FILL_UP = 2000; // Requests until the occupation of the network is stable
+
+	/**
+	 * Without blocking, the truncation point is taken from the occupation, shortly after the network is filled up
+	 */
+	@Test
+	public void detectsFillUpWithoutBlocking() {
+		MSER5TransientDetector detector = new MSER5TransientDetector(MAX_OBSERVATIONS);
+		Random random = new Random(1);
+
+		for (int i = 0; i < MAX_OBSERVATIONS && !detector.isDetected(); i++) {
+			detector.addObservation(true, occupation(i, random));
+		}
+
+		assertTrue(detector.isDetected());
+		assertTrue("Detected by the maximum number of observations", detector.getNumObservations() < MAX_OBSERVATIONS / 2);
+		assertTrue("Truncation point " + detector.getTruncationPoint(), detector.getTruncationPoint() >= FILL_UP / 2);
+		assertTrue("Truncation point " + detector.getTruncationPoint(), detector.getTruncationPoint() <= FILL_UP * 3 / 2);
+	}
+
+	/**
+	 * If no series varies, the transient phase ends at the maximum number of observations
+	 */
+	@Test
+	public void endsAtMaximumWithoutInformation() {
+		MSER5TransientDetector detector = new MSER5TransientDetector(MAX_OBSERVATIONS);
+
+		for (int i = 0; i < MAX_OBSERVATIONS && !detector.isDetected(); i++) {
+			detector.addObservation(true, 0.0);
+		}
+
+		assertTrue(detector.isDetected());
+		assertEquals(MAX_OBSERVATIONS, detector.getNumObservations());
+		assertEquals(MAX_OBSERVATIONS, detector.getTruncationPoint());
+	}
+
+	/**
+	 * Occupation that grows linearly until the network is filled up and then varies around its steady state
+	 */
+	private static double occupation(int request, Random random) {
+		if (request < FILL_UP) {
+			return 0.5 * request / FILL_UP;
+		}
+		return 0.5 + 0.02 * random.nextGaussian();
+	}
+
+}